@@ -84,7 +84,8 @@ public interface IGrid {
      *
      * @param machineClass class of the machine associated with a grid node
      * @return all unique machines of specified class. if a machine is connected to the grid with multiple nodes, this
-     *         will only return the machine once.
+     *         will only return the machine once. This is a read-only view that reflects later changes to the grid, so
+     *         nodes must not be added to or removed from the grid while iterating it.
      */
     @Nonnull
     <T> Set<T> getMachines(@Nonnull Class<T> machineClass);
@@ -94,11 +95,27 @@ public interface IGrid {
      *
      * @param machineClass class of the machine associated with a grid node
      * @return all unique machines of specified class. if a machine is connected to the grid with multiple nodes, this
-     *         will only return the machine once.
+     *         will only return the machine once. This is a read-only view that reflects later changes to the grid, so
+     *         nodes must not be added to or removed from the grid while iterating it.
      */
     @Nonnull
     <T> Set<T> getActiveMachines(@Nonnull Class<T> machineClass);
 
+    /**
+     * Like {@link #getMachines}, but includes all machines that extend or implement the given class or interface,
+     * rather than only machines of exactly that class. The grid keeps an index for each type that was requested, so
+     * later calls don't have to look at unrelated machines.
+     */
+    @Nonnull
+    <T> Set<T> getMachinesAssignableTo(@Nonnull Class<T> machineType);
+
+    /**
+     * Like {@link #getActiveMachines}, but includes all machines that extend or implement the given class or
+     * interface, rather than only machines of exactly that class.
+     */
+    @Nonnull
+    <T> Set<T> getActiveMachinesAssignableTo(@Nonnull Class<T> machineType);
+
     /**
      * @return IReadOnlyCollection for all nodes on the network, node visitors are preferred.
      */
@@ -26,6 +26,7 @@
 import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -121,6 +122,31 @@ ICraftingLink submitJob(ICraftingPlan job, ICraftingRequester requestingMachine,
      */
     Set<AEKey> getCraftables(AEKeyFilter filter);
 
+    /**
+     * Version returned by services that don't track changes to their craftables.
+     */
+    long UNVERSIONED = -1;
+
+    /**
+     * @return A version number that increases whenever the keys returned by {@link #getCraftables} change. Can be used
+     *         to skip comparing the craftables if nothing changed. {@link #UNVERSIONED} if changes are not tracked, in
+     *         which case the craftables always have to be compared.
+     */
+    default long getCraftablesVersion() {
+        return UNVERSIONED;
+    }
+
+    /**
+     * Passes the keys that became craftable or stopped being craftable since the given
+     * {@link #getCraftablesVersion() version} to the consumer. Keys may be passed more than once.
+     *
+     * @return False if the changes since the given version are no longer available. Nothing is passed to the consumer
+     *         in that case, and {@link #getCraftables} has to be compared instead.
+     */
+    default boolean getCraftablesChangesSince(long version, Consumer<AEKey> consumer) {
+        return false;
+    }
+
     /**
      * Returns true if <code>what</code> is currently being requested for a crafting job in this grid.
      * <p/>
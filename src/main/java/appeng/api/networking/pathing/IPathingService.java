@@ -47,7 +47,8 @@ public interface IPathingService extends IGridService {
     ControllerState getControllerState();
 
     /**
-     * trigger a network reset, booting, path-finding and all.
+     * Triggers a reassignment of the network's channels. The network only boots again if its controller state changed
+     * since channels were last assigned, otherwise devices keep their current channels until the reassignment is done.
      */
     void repath();
 }
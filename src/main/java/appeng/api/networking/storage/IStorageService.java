@@ -23,8 +23,11 @@
 
 package appeng.api.networking.storage;
 
+import java.util.function.Consumer;
+
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridService;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.IStorageProvider;
@@ -35,6 +38,11 @@
  */
 public interface IStorageService extends IGridService {
 
+    /**
+     * Version returned by services that don't track changes to their cached inventory.
+     */
+    long UNVERSIONED = -1;
+
     /**
      * @return The network inventory.
      */
@@ -51,6 +59,59 @@ public interface IStorageService extends IGridService {
      */
     KeyCounter getCachedInventory();
 
+    /**
+     * Returns a copy of {@link #getCachedInventory()} as of the end of the last tick, which will never change
+     * afterwards. Unlike the cached inventory, it can be read from any thread, e.g. by calculations running in the
+     * background.
+     * <p/>
+     * The grid's storage service takes the copy incrementally and shares most of its state with previous copies, so it
+     * is cheap to retrieve. The default implementation copies the entire cached inventory, and thus has to be called
+     * from the server thread.
+     * <p/>
+     * Implementations may return the same copy to every caller, so callers <strong>must not modify it</strong>.
+     *
+     * @return The stacks of this network at the end of the last tick. <strong>Do not modify!</strong>
+     */
+    default KeyCounter getCachedInventorySnapshot() {
+        var snapshot = new KeyCounter();
+        snapshot.addAll(getCachedInventory());
+        return snapshot;
+    }
+
+    /**
+     * @return A version number that increases whenever the {@link #getCachedInventory() cached inventory} changes.
+     *         {@link #UNVERSIONED} if changes are not tracked, in which case the cached inventory always has to be
+     *         compared.
+     */
+    default long getCachedInventoryVersion() {
+        return UNVERSIONED;
+    }
+
+    /**
+     * Passes the keys whose amount in the {@link #getCachedInventory() cached inventory} changed since the given
+     * {@link #getCachedInventoryVersion() version} to the consumer. Keys may be passed more than once.
+     *
+     * @return False if the changes since the given version are no longer available. Nothing is passed to the consumer
+     *         in that case, and the cached inventory has to be compared instead.
+     */
+    default boolean getCachedInventoryChangesSince(long version, Consumer<AEKey> consumer) {
+        return false;
+    }
+
+    /**
+     * @return The sum of the amounts of all stacks of the given type in the {@link #getCachedInventory() cached
+     *         inventory}. Implementations should keep a running total rather than summing up the inventory.
+     */
+    default long getCachedAmount(AEKeyType type) {
+        long total = 0;
+        for (var entry : getCachedInventory()) {
+            if (entry.getKey().getType() == type) {
+                total += entry.getLongValue();
+            }
+        }
+        return total;
+    }
+
     /**
      * Adds a {@link IStorageProvider} that is not associated with a specific {@link appeng.api.networking.IGridNode }.
      * This is for adding storage provided by {@link IGridService}s for examples.
@@ -1,6 +1,8 @@
 package appeng.api.stacks;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -23,20 +25,37 @@ public final class AEFluidKey extends AEKey {
     public static final int AMOUNT_BUCKET = (int) FluidConstants.BUCKET;
     public static final int AMOUNT_BLOCK = (int) FluidConstants.BLOCK;
 
+    /**
+     * Canonical keys for fluids without NBT.
+     */
+    private static final Map<Fluid, AEFluidKey> UNTAGGED = new ConcurrentHashMap<>();
+    /**
+     * Canonical keys for fluids with NBT.
+     */
+    private static final KeyInterner<AEFluidKey> INTERNER = new KeyInterner<>();
+
     private final Fluid fluid;
     @Nullable
     private final CompoundTag tag;
     private final int hashCode;
 
     private AEFluidKey(Fluid Fluid, @Nullable CompoundTag tag) {
-        this.fluid = Fluid;
+        this(Fluid, tag, Objects.hash(Fluid, tag));
+    }
+
+    private AEFluidKey(Fluid fluid, @Nullable CompoundTag tag, int hashCode) {
+        this.fluid = fluid;
         this.tag = tag;
-        this.hashCode = Objects.hash(Fluid, tag);
+        this.hashCode = hashCode;
     }
 
     public static AEFluidKey of(Fluid fluid, @Nullable CompoundTag tag) {
-        // Do a defensive copy of the tag if we're not sure that we can take ownership
-        return new AEFluidKey(fluid, tag != null ? tag.copy() : null);
+        if (tag == null) {
+            return UNTAGGED.computeIfAbsent(fluid, f -> new AEFluidKey(f, null));
+        }
+        // Only do the defensive copy of the tag if there's no canonical key yet, since we can't take ownership
+        return INTERNER.intern(new AEFluidKey(fluid, tag),
+                probe -> new AEFluidKey(probe.fluid, probe.tag.copy(), probe.hashCode));
     }
 
     public static AEFluidKey of(Fluid fluid) {
@@ -163,7 +182,11 @@ public void writeToPacket(FriendlyByteBuf data) {
     public static AEFluidKey fromPacket(FriendlyByteBuf data) {
         var fluid = Registry.FLUID.byId(data.readVarInt());
         var tag = data.readNbt();
-        return new AEFluidKey(fluid, tag);
+        if (tag == null) {
+            return of(fluid, null);
+        }
+        // The tag was freshly read, so the key can take ownership of it
+        return INTERNER.intern(new AEFluidKey(fluid, tag), probe -> probe);
     }
 
     public static boolean is(@Nullable GenericStack stack) {
@@ -1,6 +1,8 @@
 package appeng.api.stacks;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -18,15 +20,28 @@
 import appeng.core.AELog;
 
 public final class AEItemKey extends AEKey {
+    /**
+     * Canonical keys for items without NBT, which are by far the most common.
+     */
+    private static final Map<Item, AEItemKey> UNTAGGED = new ConcurrentHashMap<>();
+    /**
+     * Canonical keys for items with NBT.
+     */
+    private static final KeyInterner<AEItemKey> INTERNER = new KeyInterner<>();
+
     private final Item item;
     @Nullable
     private final CompoundTag tag;
     private final int hashCode;
 
     private AEItemKey(Item item, @Nullable CompoundTag tag) {
+        this(item, tag, Objects.hash(item, tag));
+    }
+
+    private AEItemKey(Item item, @Nullable CompoundTag tag, int hashCode) {
         this.item = item;
         this.tag = tag;
-        this.hashCode = Objects.hash(item, tag);
+        this.hashCode = hashCode;
     }
 
     @Nullable
@@ -89,8 +104,12 @@ public static AEItemKey of(ItemLike item) {
     }
 
     public static AEItemKey of(ItemLike item, @Nullable CompoundTag tag) {
-        // Do a defensive copy of the tag if we're not sure that we can take ownership
-        return new AEItemKey(item.asItem(), tag != null ? tag.copy() : null);
+        if (tag == null) {
+            return UNTAGGED.computeIfAbsent(item.asItem(), i -> new AEItemKey(i, null));
+        }
+        // Only do the defensive copy of the tag if there's no canonical key yet, since we can't take ownership
+        return INTERNER.intern(new AEItemKey(item.asItem(), tag),
+                probe -> new AEItemKey(probe.item, probe.tag.copy(), probe.hashCode));
     }
 
     public boolean matches(ItemStack stack) {
@@ -222,7 +241,11 @@ public static AEItemKey fromPacket(FriendlyByteBuf data) {
         int i = data.readVarInt();
         var item = Item.byId(i);
         var tag = data.readNbt();
-        return new AEItemKey(item, tag);
+        if (tag == null) {
+            return of(item, null);
+        }
+        // The tag was freshly read, so the key can take ownership of it
+        return INTERNER.intern(new AEItemKey(item, tag), probe -> probe);
     }
 
     @Override
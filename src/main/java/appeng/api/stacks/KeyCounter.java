@@ -24,6 +24,7 @@
 package appeng.api.stacks;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -48,7 +49,12 @@ public final class KeyCounter implements Iterable<Object2LongMap.Entry<AEKey>> {
 
     public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey key, FuzzyMode fuzzy) {
         Objects.requireNonNull(key, "key");
-        return getSubIndex(key).findFuzzy(key, fuzzy);
+        // Don't create a sub-index for a lookup, so that read-only counters can be shared between threads
+        var subIndex = lists.get(key.getPrimaryKey());
+        if (subIndex == null) {
+            return Collections.emptyList();
+        }
+        return subIndex.findFuzzy(key, fuzzy);
     }
 
     public void removeZeros() {
@@ -96,6 +102,20 @@ public void remove(AEKey key, long amount) {
         add(key, -amount);
     }
 
+    /**
+     * Removes the entry for the given key entirely, instead of only setting its amount to zero.
+     */
+    public void removeKey(AEKey key) {
+        Objects.requireNonNull(key, "key");
+        var subIndex = lists.get(key.getPrimaryKey());
+        if (subIndex != null) {
+            subIndex.remove(key);
+            if (subIndex.isEmpty()) {
+                lists.remove(key.getPrimaryKey());
+            }
+        }
+    }
+
     public void set(AEKey key, long amount) {
         getSubIndex(key).set(key, amount);
     }
@@ -144,6 +164,41 @@ public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
                 Iterators.transform(lists.values().iterator(), VariantCounter::iterator));
     }
 
+    /**
+     * Creates a read-only copy of this counter for consumers on other threads. Only the variants of the primary keys
+     * that changed since the previous copy are copied, all others are shared with the previous copy.
+     * <p/>
+     * Neither this counter nor the previous copy are modified, but the returned copy shares state with both, so it
+     * must never be modified.
+     *
+     * @param previous    The copy previously returned by this method for this counter, or null to copy everything.
+     * @param changedKeys The keys that changed in this counter since the previous copy was made.
+     */
+    public KeyCounter snapshot(@Nullable KeyCounter previous, Iterable<AEKey> changedKeys) {
+        var result = new KeyCounter();
+        if (previous == null) {
+            for (var entry : lists.entrySet()) {
+                result.lists.put(entry.getKey(), entry.getValue().copy());
+            }
+            return result;
+        }
+
+        result.lists.putAll(previous.lists);
+        for (var key : changedKeys) {
+            var primaryKey = key.getPrimaryKey();
+            // Only copy each sub-index once, even if multiple of its variants changed
+            if (result.lists.get(primaryKey) == previous.lists.get(primaryKey)) {
+                var subIndex = lists.get(primaryKey);
+                if (subIndex == null || subIndex.isEmpty()) {
+                    result.lists.remove(primaryKey);
+                } else {
+                    result.lists.put(primaryKey, subIndex.copy());
+                }
+            }
+        }
+        return result;
+    }
+
     private VariantCounter getSubIndex(AEKey key) {
         var subIndex = lists.get(key.getPrimaryKey());
         if (subIndex == null) {
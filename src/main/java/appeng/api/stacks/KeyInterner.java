@@ -0,0 +1,71 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.api.stacks;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps a single canonical instance for every distinct key, so that the defensive copy of a key's NBT only has to be
+ * made once per distinct key, and equal keys can be compared by identity in the hash maps used by {@link KeyCounter}.
+ * <p/>
+ * Canonical instances are only weakly referenced and are dropped once they are no longer used. The map is striped by
+ * hash code, since keys are also created from off-thread callers such as the crafting calculation.
+ */
+final class KeyInterner<T extends AEKey> {
+    private static final int STRIPES = 16;
+
+    private final Stripe<T>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    KeyInterner() {
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Returns the canonical instance for a key.
+     *
+     * @param probe     A key that may reference NBT it does not own. It is only used for the lookup and never stored.
+     * @param ownedCopy Creates a key that owns its NBT from the probe, if there is no canonical instance yet.
+     */
+    T intern(T probe, UnaryOperator<T> ownedCopy) {
+        var hash = probe.hashCode();
+        var stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            var ref = stripe.canonical.get(probe);
+            var existing = ref != null ? ref.get() : null;
+            if (existing != null) {
+                return existing;
+            }
+
+            var owned = ownedCopy.apply(probe);
+            stripe.canonical.put(owned, new WeakReference<>(owned));
+            return owned;
+        }
+    }
+
+    private static class Stripe<T> {
+        private final Map<T, WeakReference<T>> canonical = new WeakHashMap<>();
+    }
+}
@@ -54,6 +54,10 @@ public void set(AEKey key, long amount) {
         }
     }
 
+    public void remove(AEKey key) {
+        getRecords().removeLong(key);
+    }
+
     public void addAll(VariantCounter other) {
         for (var entry : other.getRecords().object2LongEntrySet()) {
             add(entry.getKey(), entry.getLongValue());
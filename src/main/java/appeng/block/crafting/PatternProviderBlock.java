@@ -59,6 +59,16 @@ protected BlockState updateBlockStateFromBlockEntity(BlockState currentState, Pa
         return currentState.setValue(OMNIDIRECTIONAL, be.isOmniDirectional());
     }
 
+    @SuppressWarnings("deprecation")
+    @Override
+    public void neighborChanged(BlockState state, Level level, BlockPos pos, Block blockIn, BlockPos fromPos,
+            boolean isMoving) {
+        var be = this.getBlockEntity(level, pos);
+        if (be != null) {
+            be.getDuality().updateTermName();
+        }
+    }
+
     @Override
     public InteractionResult onActivated(final Level level, final BlockPos pos, final Player p,
             final InteractionHand hand,
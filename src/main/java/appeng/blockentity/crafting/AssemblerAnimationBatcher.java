@@ -0,0 +1,93 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.blockentity.crafting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import appeng.api.stacks.AEKey;
+import appeng.core.sync.network.NetworkHandler;
+import appeng.core.sync.network.TargetPoint;
+import appeng.core.sync.packets.AssemblerAnimationPacket;
+import appeng.hooks.ticking.TickHandler;
+
+/**
+ * Collects the crafting animations of molecular assemblers and sends them as one packet per chunk on the next tick of
+ * the level. Racks of assemblers would otherwise send one packet to every nearby player for every single craft.
+ */
+final class AssemblerAnimationBatcher {
+    /**
+     * Players within this distance of an assembler will see its animation.
+     */
+    private static final int ANIMATION_RANGE = 32;
+
+    // Mapping is level -> encoded chunk pos -> animations queued in that chunk
+    private static final Map<Level, Long2ObjectMap<List<AssemblerAnimationPacket.Animation>>> PENDING = new WeakHashMap<>();
+
+    private AssemblerAnimationBatcher() {
+    }
+
+    static void queue(Level level, BlockPos pos, byte rate, AEKey what) {
+        var levelQueue = PENDING.get(level);
+        if (levelQueue == null) {
+            levelQueue = new Long2ObjectOpenHashMap<>();
+            PENDING.put(level, levelQueue);
+            TickHandler.instance().addCallable(level, () -> send(level));
+        }
+
+        levelQueue.computeIfAbsent(ChunkPos.asLong(pos), key -> new ArrayList<>())
+                .add(new AssemblerAnimationPacket.Animation(pos.immutable(), rate, what));
+    }
+
+    private static void send(Level level) {
+        var levelQueue = PENDING.remove(level);
+        if (levelQueue == null) {
+            return;
+        }
+
+        for (var animations : levelQueue.values()) {
+            // Send to everyone in range of any of the assemblers
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+            for (var animation : animations) {
+                var pos = animation.pos();
+                minX = Math.min(minX, pos.getX());
+                minY = Math.min(minY, pos.getY());
+                minZ = Math.min(minZ, pos.getZ());
+                maxX = Math.max(maxX, pos.getX());
+                maxY = Math.max(maxY, pos.getY());
+                maxZ = Math.max(maxZ, pos.getZ());
+            }
+
+            double dx = (maxX - minX) / 2.0, dy = (maxY - minY) / 2.0, dz = (maxZ - minZ) / 2.0;
+            var where = new TargetPoint(minX + dx, minY + dy, minZ + dz,
+                    ANIMATION_RANGE + Math.sqrt(dx * dx + dy * dy + dz * dz), level);
+            NetworkHandler.instance().sendToAllAround(new AssemblerAnimationPacket(animations), where);
+        }
+    }
+}
@@ -63,9 +63,6 @@
 import appeng.core.AELog;
 import appeng.core.AppEng;
 import appeng.core.definitions.AEBlocks;
-import appeng.core.sync.network.NetworkHandler;
-import appeng.core.sync.network.TargetPoint;
-import appeng.core.sync.packets.AssemblerAnimationPacket;
 import appeng.crafting.CraftingEvent;
 import appeng.crafting.pattern.AECraftingPattern;
 import appeng.crafting.pattern.CraftingPatternItem;
@@ -448,12 +445,7 @@ public TickRateModulation tickingRequest(final IGridNode node, int ticksSinceLas
 
                 var item = AEItemKey.of(output);
                 if (item != null) {
-                    final TargetPoint where = new TargetPoint(this.worldPosition.getX(), this.worldPosition.getY(),
-                            this.worldPosition.getZ(), 32,
-                            this.level);
-                    NetworkHandler.instance()
-                            .sendToAllAround(new AssemblerAnimationPacket(this.worldPosition, (byte) speed, item),
-                                    where);
+                    AssemblerAnimationBatcher.queue(this.level, this.worldPosition, (byte) speed, item);
                 }
 
                 this.saveChanges();
@@ -89,6 +89,7 @@ public void setPushDirection(@Nullable Direction direction) {
             this.configureNodeSides();
             this.markForUpdate();
             this.saveChanges();
+            this.duality.updateTermName();
         }
     }
 
@@ -113,6 +114,18 @@ public void onReady() {
         this.duality.updatePatterns();
     }
 
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        this.duality.onRemoved();
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        this.duality.onRemoved();
+    }
+
     @Override
     public void saveAdditional(CompoundTag data) {
         super.saveAdditional(data);
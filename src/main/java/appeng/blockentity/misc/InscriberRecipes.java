@@ -18,24 +18,22 @@
 
 package appeng.blockentity.misc;
 
-import java.util.Collection;
+import java.util.List;
 
 import javax.annotation.Nullable;
 
-import com.google.common.collect.Iterables;
-
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.Container;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
-import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.Level;
 
 import appeng.core.AppEng;
 import appeng.core.definitions.AEItems;
 import appeng.items.materials.NamePressItem;
+import appeng.recipes.IngredientIndex;
+import appeng.recipes.RecipeTypeCache;
 import appeng.recipes.handlers.InscriberProcessType;
 import appeng.recipes.handlers.InscriberRecipe;
 
@@ -47,6 +45,9 @@ public final class InscriberRecipes {
 
     public static final ResourceLocation NAMEPLATE_RECIPE_ID = new ResourceLocation(AppEng.MOD_ID, "nameplate");
 
+    private static final RecipeTypeCache<InscriberRecipe, Index> INDEX = new RecipeTypeCache<>(InscriberRecipe.TYPE,
+            InscriberRecipe.class, Index::new);
+
     private InscriberRecipes() {
     }
 
@@ -54,9 +55,11 @@ private InscriberRecipes() {
      * Returns an unmodifiable view of all registered inscriber recipes.
      */
     public static Iterable<InscriberRecipe> getRecipes(Level level) {
-        Collection<Recipe<Container>> unfilteredRecipes = level.getRecipeManager().byType(InscriberRecipe.TYPE)
-                .values();
-        return Iterables.filter(unfilteredRecipes, InscriberRecipe.class);
+        return getIndex(level).recipes;
+    }
+
+    private static Index getIndex(Level level) {
+        return INDEX.get(level.getRecipeManager());
     }
 
     @Nullable
@@ -73,7 +76,7 @@ public static InscriberRecipe findRecipe(Level level, ItemStack input, ItemStack
             }
         }
 
-        for (final InscriberRecipe recipe : getRecipes(level)) {
+        for (final InscriberRecipe recipe : getIndex(level).byMiddleInput.get(input)) {
             // The recipe can be flipped at will
             final boolean matchA = recipe.getTopOptional().test(plateA) && recipe.getBottomOptional().test(plateB);
             final boolean matchB = recipe.getTopOptional().test(plateB) && recipe.getBottomOptional().test(plateA);
@@ -120,7 +123,7 @@ private static InscriberRecipe makeNamePressRecipe(ItemStack input, ItemStack pl
      * combination and the reverse will be searched.
      */
     public static boolean isValidOptionalIngredientCombination(Level level, ItemStack pressA, ItemStack pressB) {
-        for (InscriberRecipe recipe : getRecipes(level)) {
+        for (InscriberRecipe recipe : getIndex(level).byOptionalInput.get(pressA)) {
             if (recipe.getTopOptional().test(pressA) && recipe.getBottomOptional().test(pressB)
                     || recipe.getTopOptional().test(pressB) && recipe.getBottomOptional().test(pressA)) {
                 return true;
@@ -135,7 +138,7 @@ public static boolean isValidOptionalIngredientCombination(Level level, ItemStac
      * top can be used interchangeably here, because the inscriber will flip the recipe if needed.
      */
     public static boolean isValidOptionalIngredient(Level level, ItemStack is) {
-        for (InscriberRecipe recipe : getRecipes(level)) {
+        for (InscriberRecipe recipe : getIndex(level).byOptionalInput.get(is)) {
             if (recipe.getTopOptional().test(is) || recipe.getBottomOptional().test(is)) {
                 return true;
             }
@@ -144,4 +147,21 @@ public static boolean isValidOptionalIngredient(Level level, ItemStack is) {
         return false;
     }
 
+    /**
+     * Indexes the inscriber recipes by the items accepted for the middle input and for either of the presses.
+     */
+    private static class Index {
+        private final List<InscriberRecipe> recipes;
+        private final IngredientIndex<InscriberRecipe> byMiddleInput = new IngredientIndex<>();
+        private final IngredientIndex<InscriberRecipe> byOptionalInput = new IngredientIndex<>();
+
+        private Index(List<InscriberRecipe> recipes) {
+            this.recipes = recipes;
+            for (var recipe : recipes) {
+                byMiddleInput.add(recipe.getMiddleInput(), recipe);
+                byOptionalInput.add(recipe.getTopOptional(), recipe);
+                byOptionalInput.add(recipe.getBottomOptional(), recipe);
+            }
+        }
+    }
 }
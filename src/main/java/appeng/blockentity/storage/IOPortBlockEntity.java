@@ -18,6 +18,7 @@
 
 package appeng.blockentity.storage;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -48,10 +49,11 @@
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageService;
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.api.networking.ticking.TickingRequest;
-import appeng.api.stacks.KeyCounter;
+import appeng.api.stacks.AEKey;
 import appeng.api.storage.MEStorage;
 import appeng.api.storage.StorageCells;
 import appeng.api.storage.StorageHelper;
@@ -63,6 +65,7 @@
 import appeng.blockentity.grid.AENetworkInvBlockEntity;
 import appeng.core.definitions.AEBlocks;
 import appeng.core.settings.TickRates;
+import appeng.me.cells.BasicCellInventory;
 import appeng.me.helpers.MachineSource;
 import appeng.parts.automation.BlockUpgradeInventory;
 import appeng.parts.automation.UpgradeInventory;
@@ -92,6 +95,11 @@ public class IOPortBlockEntity extends AENetworkInvBlockEntity
     private final UpgradeInventory upgrades;
     private final IActionSource mySrc;
     private YesNo lastRedstoneState;
+    /**
+     * Where the transfer of each input slot's cell left off. Kept per slot, since the budget of a tick may run out in
+     * any of them.
+     */
+    private final TransferCursor[] cursors = new TransferCursor[NUMBER_OF_CELL_SLOTS];
 
     public IOPortBlockEntity(BlockEntityType<?> blockEntityType, BlockPos pos, BlockState blockState) {
         super(blockEntityType, pos, blockState);
@@ -261,7 +269,7 @@ public TickRateModulation tickingRequest(IGridNode node, int ticksSinceLastCall)
             }
 
             if (itemsToMove > 0) {
-                itemsToMove = transferContents(grid, cellInv, itemsToMove);
+                itemsToMove = transferContents(grid, x, cell, cellInv, itemsToMove);
 
                 if (itemsToMove > 0) {
                     ret = TickRateModulation.IDLE;
@@ -291,63 +299,101 @@ public boolean matchesFullnessMode(StorageCell inv) {
         };
     }
 
-    private long transferContents(IGrid grid, StorageCell cellInv, long itemsToMove) {
-
-        var networkInv = grid.getStorageService().getInventory();
+    private long transferContents(IGrid grid, int slot, ItemStack cell, StorageCell cellInv, long itemsToMove) {
+        var storageService = grid.getStorageService();
+        var networkInv = storageService.getInventory();
+        var mode = this.manager.getSetting(Settings.OPERATION_MODE);
 
-        KeyCounter srcList;
         MEStorage src, destination;
-        if (this.manager.getSetting(Settings.OPERATION_MODE) == OperationMode.EMPTY) {
+        if (mode == OperationMode.EMPTY) {
             src = cellInv;
-            srcList = cellInv.getAvailableStacks();
             destination = networkInv;
         } else {
             src = networkInv;
-            srcList = grid.getStorageService().getCachedInventory();
             destination = cellInv;
         }
 
-        var energy = grid.getEnergyService();
-        boolean didStuff;
-
-        do {
-            didStuff = false;
-
-            for (var srcEntry : srcList) {
-                var totalStackSize = srcEntry.getLongValue();
-                if (totalStackSize > 0) {
-                    var what = srcEntry.getKey();
-                    var possible = destination.insert(what, totalStackSize, Actionable.SIMULATE, this.mySrc);
+        // Resume where the previous tick ran out of budget, as long as the slot still holds the same cell
+        var cursor = this.cursors[slot];
+        if (cursor == null || cursor.cell != cell || cursor.mode != mode) {
+            cursor = new TransferCursor(cell, mode, getTransferableKeys(storageService, cellInv, mode));
+            this.cursors[slot] = cursor;
+        }
 
-                    if (possible > 0) {
-                        possible = Math.min(possible, itemsToMove * what.getAmountPerOperation());
+        var energy = grid.getEnergyService();
 
-                        possible = src.extract(what, possible, Actionable.MODULATE, this.mySrc);
-                        if (possible > 0) {
-                            var inserted = StorageHelper.poweredInsert(energy, destination, what, possible, this.mySrc);
+        while (itemsToMove > 0 && cursor.index < cursor.keys.size()) {
+            var what = cursor.keys.get(cursor.index);
+            var amountPerOperation = what.getAmountPerOperation();
 
-                            if (inserted < possible) {
-                                src.insert(what, possible - inserted, Actionable.MODULATE, this.mySrc);
-                            }
+            // Move as much of this key as the budget allows, a destination that can't take any is skipped
+            var possible = destination.insert(what, itemsToMove * amountPerOperation, Actionable.SIMULATE,
+                    this.mySrc);
+            if (possible > 0) {
+                possible = src.extract(what, possible, Actionable.MODULATE, this.mySrc);
+                if (possible > 0) {
+                    var inserted = StorageHelper.poweredInsert(energy, destination, what, possible, this.mySrc);
 
-                            if (inserted > 0) {
-                                itemsToMove -= Math.max(1, inserted / what.getAmountPerOperation());
-                                didStuff = true;
-                            }
+                    if (inserted < possible) {
+                        src.insert(what, possible - inserted, Actionable.MODULATE, this.mySrc);
+                    }
 
-                            break;
-                        }
+                    if (inserted > 0) {
+                        itemsToMove -= Math.max(1, inserted / amountPerOperation);
                     }
                 }
             }
-        } while (itemsToMove > 0 && didStuff);
+
+            // If the budget ran out, there may be more of this key left for the next tick
+            if (itemsToMove > 0) {
+                cursor.index++;
+            }
+        }
+
+        if (cursor.index >= cursor.keys.size()) {
+            // The next pass will pick up keys that showed up in the meantime
+            this.cursors[slot] = null;
+        }
 
         return itemsToMove;
     }
 
+    /**
+     * Lists the keys that are worth offering to the destination, so that a fill operation doesn't have to try every
+     * key in the network against a cell that is partitioned or can't hold new types.
+     */
+    private static List<AEKey> getTransferableKeys(IStorageService storageService, StorageCell cellInv,
+            OperationMode mode) {
+        if (mode == OperationMode.EMPTY) {
+            return new ArrayList<>(cellInv.getAvailableStacks().keySet());
+        }
+
+        var networkContents = storageService.getCachedInventory();
+        var basicCell = cellInv instanceof BasicCellInventory basicCellInv ? basicCellInv : null;
+        var acceptableKeys = basicCell != null ? basicCell.getAcceptableKeys() : null;
+        var keys = new ArrayList<AEKey>();
+
+        if (acceptableKeys != null) {
+            for (var key : acceptableKeys) {
+                if (networkContents.get(key) > 0) {
+                    keys.add(key);
+                }
+            }
+        } else {
+            for (var entry : networkContents) {
+                var key = entry.getKey();
+                if (entry.getLongValue() > 0 && (basicCell == null || basicCell.canAccept(key))) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+
     private boolean moveSlot(final int x) {
         if (this.outputCells.addItems(this.inputCells.getStackInSlot(x)).isEmpty()) {
             this.inputCells.setItemDirect(x, ItemStack.EMPTY);
+            this.cursors[x] = null;
             return true;
         }
         return false;
@@ -368,4 +414,20 @@ public void getDrops(final Level level, final BlockPos pos, final List<ItemStack
             drops.add(upgrade);
         }
     }
+
+    /**
+     * The keys that are left to transfer for the cell in an input slot.
+     */
+    private static final class TransferCursor {
+        private final ItemStack cell;
+        private final OperationMode mode;
+        private final List<AEKey> keys;
+        private int index;
+
+        private TransferCursor(ItemStack cell, OperationMode mode, List<AEKey> keys) {
+            this.cell = cell;
+            this.mode = mode;
+            this.keys = keys;
+        }
+    }
 }
@@ -22,28 +22,26 @@
 
 import appeng.api.config.SortDir;
 import appeng.api.config.SortOrder;
-import appeng.api.stacks.AEKey;
 
 final class KeySorters {
 
     private KeySorters() {
     }
 
-    // FIXME: Calling .getString() to compare two untranslated strings is a problem, we need to investigate how to do
-    // this better
-    public static final Comparator<AEKey> NAME_ASC = Comparator.comparing(
-            is -> is.getDisplayName().getString(),
+    // Display names are only resolved once per key by the repo, see Repo.KeyInfo
+    public static final Comparator<Repo.KeyInfo> NAME_ASC = Comparator.comparing(
+            Repo.KeyInfo::getDisplayName,
             String::compareToIgnoreCase);
 
-    public static final Comparator<AEKey> NAME_DESC = NAME_ASC.reversed();
+    public static final Comparator<Repo.KeyInfo> NAME_DESC = NAME_ASC.reversed();
 
-    public static final Comparator<AEKey> MOD_ASC = Comparator.comparing(
-            AEKey::getModId,
+    public static final Comparator<Repo.KeyInfo> MOD_ASC = Comparator.comparing(
+            Repo.KeyInfo::getModId,
             String::compareToIgnoreCase).thenComparing(NAME_ASC);
 
-    public static final Comparator<AEKey> MOD_DESC = MOD_ASC.reversed();
+    public static final Comparator<Repo.KeyInfo> MOD_DESC = MOD_ASC.reversed();
 
-    public static Comparator<AEKey> getComparator(SortOrder order, SortDir dir) {
+    public static Comparator<Repo.KeyInfo> getComparator(SortOrder order, SortDir dir) {
         return switch (order) {
             case NAME -> dir == SortDir.ASCENDING ? NAME_ASC : NAME_DESC;
             case MOD -> dir == SortDir.ASCENDING ? MOD_ASC : MOD_DESC;
@@ -19,8 +19,11 @@
 package appeng.client.gui.me.common;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -64,7 +67,22 @@ public class Repo implements IClientRepo {
     private boolean hasPower;
 
     private final BiMap<Long, GridInventoryEntry> entries = HashBiMap.create();
+    /**
+     * The visible entries, kept sorted by {@link #viewComparator}.
+     */
     private final ArrayList<GridInventoryEntry> view = new ArrayList<>();
+    /**
+     * Display names and tooltips are expensive to compute, so they're cached for every key in {@link #entries}.
+     */
+    private final Map<AEKey, KeyInfo> keyInfos = new HashMap<>();
+    /**
+     * The settings used by the last full rebuild of {@link #view}. As long as they don't change, updates from the
+     * server are applied to the view incrementally.
+     */
+    @Nullable
+    private ViewSettings viewSettings;
+    private Pattern viewSearchPattern;
+    private Comparator<GridInventoryEntry> viewComparator;
     private IPartitionList partitionList;
     private Runnable updateViewListener;
 
@@ -91,40 +109,70 @@ public final void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entr
             clear();
         }
 
+        // Only rebuild the view if the settings changed since it was last built
+        boolean incremental = !fullUpdate && getCurrentViewSettings().equals(this.viewSettings);
+
         for (GridInventoryEntry entry : entries) {
-            handleUpdate(entry);
+            if (incremental) {
+                var previous = this.entries.get(entry.getSerial());
+                if (previous != null) {
+                    removeFromView(previous);
+                }
+            }
+
+            var current = handleUpdate(entry);
+
+            if (incremental && current != null) {
+                addToView(current);
+            }
         }
 
-        updateView();
+        if (incremental) {
+            if (this.updateViewListener != null) {
+                this.updateViewListener.run();
+            }
+        } else {
+            updateView();
+        }
     }
 
-    private void handleUpdate(GridInventoryEntry serverEntry) {
+    /**
+     * @return The resulting local entry, or null if there is none.
+     */
+    @Nullable
+    private GridInventoryEntry handleUpdate(GridInventoryEntry serverEntry) {
 
         GridInventoryEntry localEntry = entries.get(serverEntry.getSerial());
         if (localEntry == null) {
             // First time we're seeing this serial -> create new entry
             if (serverEntry.getWhat() == null) {
                 AELog.warn("First time seeing serial %s, but incomplete info received", serverEntry.getSerial());
-                return;
+                return null;
             }
             if (serverEntry.isMeaningful()) {
                 entries.put(serverEntry.getSerial(), serverEntry);
+                return serverEntry;
             }
-            return;
+            return null;
         }
 
         // Update the local entry
         if (!serverEntry.isMeaningful()) {
             entries.remove(serverEntry.getSerial());
+            keyInfos.remove(localEntry.getWhat());
+            return null;
         } else if (serverEntry.getWhat() == null) {
-            entries.put(serverEntry.getSerial(), new GridInventoryEntry(
+            var updatedEntry = new GridInventoryEntry(
                     serverEntry.getSerial(),
                     localEntry.getWhat(),
                     serverEntry.getStoredAmount(),
                     serverEntry.getRequestableAmount(),
-                    serverEntry.isCraftable()));
+                    serverEntry.isCraftable());
+            entries.put(serverEntry.getSerial(), updatedEntry);
+            return updatedEntry;
         } else {
             entries.put(serverEntry.getSerial(), serverEntry);
+            return serverEntry;
         }
     }
 
@@ -135,62 +183,91 @@ public final void updateView() {
 
         this.updateJEI(this.searchString);
 
-        SearchMode searchMode = SearchMode.NAME;
-        if (AEConfig.instance().getSearchTooltips() != YesNo.NO) {
-            searchMode = SearchMode.NAME_OR_TOOLTIP;
-        }
+        this.viewSettings = getCurrentViewSettings();
 
         String innerSearch = this.searchString;
-        if (innerSearch.startsWith("@")) {
-            searchMode = SearchMode.MOD;
+        if (viewSettings.searchMode() == SearchMode.MOD) {
             innerSearch = innerSearch.substring(1);
         }
 
-        Pattern m;
         try {
-            m = Pattern.compile(innerSearch.toLowerCase(),
+            this.viewSearchPattern = Pattern.compile(innerSearch.toLowerCase(),
                     Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
         } catch (PatternSyntaxException ignored) {
-            m = Pattern.compile(Pattern.quote(innerSearch.toLowerCase()),
+            this.viewSearchPattern = Pattern.compile(Pattern.quote(innerSearch.toLowerCase()),
                     Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
         }
 
-        ViewItems viewMode = this.sortSrc.getSortDisplay();
-
         for (GridInventoryEntry entry : this.entries.values()) {
-            if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
-                continue;
+            if (isVisible(entry)) {
+                this.view.add(entry);
             }
+        }
 
-            if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
-                continue;
-            }
+        this.viewComparator = getComparator(viewSettings.sortOrder(), viewSettings.sortDir());
+        this.view.sort(this.viewComparator);
 
-            if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
-                continue;
-            }
+        if (this.updateViewListener != null) {
+            this.updateViewListener.run();
+        }
+    }
 
-            if (matchesSearch(searchMode, m, entry.getWhat())) {
-                this.view.add(entry);
-            }
+    private ViewSettings getCurrentViewSettings() {
+        SearchMode searchMode = SearchMode.NAME;
+        if (AEConfig.instance().getSearchTooltips() != YesNo.NO) {
+            searchMode = SearchMode.NAME_OR_TOOLTIP;
         }
+        if (this.searchString.startsWith("@")) {
+            searchMode = SearchMode.MOD;
+        }
+
+        return new ViewSettings(this.searchString, searchMode, this.sortSrc.getSortDisplay(),
+                this.sortSrc.getSortBy(), this.sortSrc.getSortDir());
+    }
 
-        SortOrder sortOrder = this.sortSrc.getSortBy();
-        SortDir sortDir = this.sortSrc.getSortDir();
+    private boolean isVisible(GridInventoryEntry entry) {
+        if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
+            return false;
+        }
 
-        this.view.sort(getComparator(sortOrder, sortDir));
+        ViewItems viewMode = this.viewSettings.viewMode();
+        if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
+            return false;
+        }
 
-        if (this.updateViewListener != null) {
-            this.updateViewListener.run();
+        if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
+            return false;
+        }
+
+        return matchesSearch(this.viewSettings.searchMode(), this.viewSearchPattern, entry.getWhat());
+    }
+
+    private void addToView(GridInventoryEntry entry) {
+        if (isVisible(entry)) {
+            int idx = Collections.binarySearch(this.view, entry, this.viewComparator);
+            this.view.add(idx < 0 ? -idx - 1 : idx, entry);
         }
     }
 
-    private Comparator<? super GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+    private void removeFromView(GridInventoryEntry entry) {
+        // The comparator is a total order, so this finds exactly the given entry if it is visible
+        int idx = Collections.binarySearch(this.view, entry, this.viewComparator);
+        if (idx >= 0) {
+            this.view.remove(idx);
+        }
+    }
+
+    private Comparator<GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+        Comparator<GridInventoryEntry> comparator;
         if (sortOrder == SortOrder.AMOUNT) {
-            return sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
+            comparator = sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
+        } else {
+            comparator = Comparator.comparing(entry -> getKeyInfo(entry.getWhat()),
+                    KeySorters.getComparator(sortOrder, sortDir));
         }
 
-        return Comparator.comparing(GridInventoryEntry::getWhat, getKeyComparator(sortOrder, sortDir));
+        // Break ties by serial so that entries can be found in the view by binary search
+        return comparator.thenComparingLong(GridInventoryEntry::getSerial);
     }
 
     @Nullable
@@ -210,6 +287,7 @@ public final int size() {
     public final void clear() {
         this.entries.clear();
         this.view.clear();
+        this.keyInfos.clear();
     }
 
     public final boolean hasPower() {
@@ -248,20 +326,19 @@ protected final void setSynchronizeWithJEI(boolean enable) {
     }
 
     protected boolean matchesSearch(SearchMode searchMode, Pattern searchPattern, AEKey what) {
+        var info = getKeyInfo(what);
+
         if (searchMode == SearchMode.MOD) {
-            return searchPattern.matcher(what.getModId()).find();
+            return searchPattern.matcher(info.getModId()).find();
         }
 
-        String displayName = what.getDisplayName().getString();
-        if (searchPattern.matcher(displayName).find()) {
+        if (searchPattern.matcher(info.getDisplayName()).find()) {
             return true;
         }
 
         if (searchMode == SearchMode.NAME_OR_TOOLTIP) {
-            var tooltip = Platform.getTooltip(what);
-
-            for (var line : tooltip) {
-                if (searchPattern.matcher(line.getString()).find()) {
+            for (var line : info.getTooltip()) {
+                if (searchPattern.matcher(line).find()) {
                     return true;
                 }
             }
@@ -270,8 +347,8 @@ protected boolean matchesSearch(SearchMode searchMode, Pattern searchPattern, AE
         return false;
     }
 
-    private Comparator<AEKey> getKeyComparator(SortOrder sortBy, SortDir sortDir) {
-        return KeySorters.getComparator(sortBy, sortDir);
+    private KeyInfo getKeyInfo(AEKey what) {
+        return keyInfos.computeIfAbsent(what, KeyInfo::new);
     }
 
     @Override
@@ -289,4 +366,47 @@ protected enum SearchMode {
         NAME_OR_TOOLTIP
     }
 
+    private record ViewSettings(String searchString, SearchMode searchMode, ViewItems viewMode, SortOrder sortOrder,
+            SortDir sortDir) {
+    }
+
+    /**
+     * The strings of a key that are used for searching and sorting.
+     */
+    static final class KeyInfo {
+        private final AEKey what;
+        private final String displayName;
+        private final String modId;
+        @Nullable
+        private List<String> tooltip;
+
+        private KeyInfo(AEKey what) {
+            this.what = what;
+            this.displayName = what.getDisplayName().getString();
+            this.modId = what.getModId();
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+
+        String getModId() {
+            return modId;
+        }
+
+        /**
+         * Tooltips are only built once they are searched.
+         */
+        List<String> getTooltip() {
+            if (tooltip == null) {
+                var lines = Platform.getTooltip(what);
+                tooltip = new ArrayList<>(lines.size());
+                for (var line : lines) {
+                    tooltip.add(line.getString());
+                }
+            }
+            return tooltip;
+        }
+    }
+
 }
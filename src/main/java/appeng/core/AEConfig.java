@@ -110,6 +110,9 @@ public static void load(Path configFolder) {
     private boolean useColoredCraftingStatus;
     private boolean disableColoredCableRecipesInJEI;
     private int craftingCalculationTimePerTick;
+    private boolean craftingCalculationAsync;
+    private int gridTickBudgetMicros;
+    private int terminalUpdateMaxInterval;
 
     // Spatial IO/Dimension
     private double spatialPowerExponent;
@@ -175,6 +178,9 @@ private void syncCommonConfig() {
         this.spatialPowerExponent = COMMON.spatialPowerExponent.get();
 
         this.craftingCalculationTimePerTick = COMMON.craftingCalculationTimePerTick.get();
+        this.craftingCalculationAsync = COMMON.craftingCalculationAsync.get();
+        this.gridTickBudgetMicros = COMMON.gridTickBudgetMicros.get();
+        this.terminalUpdateMaxInterval = COMMON.terminalUpdateMaxInterval.get();
 
         AEWorldGenInternal.setConfigBlacklists(
                 COMMON.quartzOresBiomeBlacklist.get().stream().map(ResourceLocation::new)
@@ -270,6 +276,18 @@ public int getCraftingCalculationTimePerTick() {
         return this.craftingCalculationTimePerTick;
     }
 
+    public boolean isCraftingCalculationAsync() {
+        return this.craftingCalculationAsync;
+    }
+
+    public int getGridTickBudgetMicros() {
+        return this.gridTickBudgetMicros;
+    }
+
+    public int getTerminalUpdateMaxInterval() {
+        return this.terminalUpdateMaxInterval;
+    }
+
     public double getSpatialPowerExponent() {
         return this.spatialPowerExponent;
     }
@@ -423,6 +441,9 @@ private static class CommonConfig {
         // Misc
         public final IntegerOption formationPlaneEntityLimit;
         public final IntegerOption craftingCalculationTimePerTick;
+        public final BooleanOption craftingCalculationAsync;
+        public final IntegerOption gridTickBudgetMicros;
+        public final IntegerOption terminalUpdateMaxInterval;
         public final BooleanOption allowBlockEntityFacades;
         public final BooleanOption debugTools;
         public final BooleanOption matterCannonBlockDamage;
@@ -512,6 +533,8 @@ public CommonConfig(ConfigSection root) {
 
             ConfigSection craftingCPU = root.subsection("craftingCPU");
             this.craftingCalculationTimePerTick = craftingCPU.addInt("craftingCalculationTimePerTick", 5);
+            this.craftingCalculationAsync = craftingCPU.addBoolean("craftingCalculationAsync", false,
+                    "Calculate crafting jobs on a snapshot of the network, in parallel to the server tick. Recipes added by other mods may not support being checked off the server thread. If disabled, calculations only run for craftingCalculationTimePerTick milliseconds per tick.");
 
             var crafting = root.subsection("crafting");
             inWorldSingularity = crafting.addBoolean("inWorldSingularity", true,
@@ -582,6 +605,10 @@ public CommonConfig(ConfigSection root) {
                 tickRateMin.put(tickRate, tickrates.addInt(tickRate.name() + "Min", tickRate.getDefaultMin()));
                 tickRateMax.put(tickRate, tickrates.addInt(tickRate.name() + "Max", tickRate.getDefaultMax()));
             }
+            gridTickBudgetMicros = tickrates.addInt("gridTickBudgetMicros", 0, 0, Integer.MAX_VALUE,
+                    "Maximum time in microseconds a single grid may spend ticking its devices per tick. Devices that don't fit are ticked on the next tick. 0 disables the limit.");
+            terminalUpdateMaxInterval = tickrates.addInt("terminalUpdateMaxInterval", 20, 1, 200,
+                    "Maximum number of ticks between inventory updates sent to open ME terminals. Updates are sent less often while the server is lagging or the inventory changes a lot. 1 sends updates every tick.");
 
             ConfigSection inWorldCrystalGrowth = root.subsection("inWorldCrystalGrowth",
                     "Settings for in-world growth of crystals.");
@@ -82,7 +82,9 @@ public enum PacketTypes {
 
         CRAFTING_STATUS(CraftingStatusPacket.class, CraftingStatusPacket::new),
 
-        MOUSE_WHEEL(MouseWheelPacket.class, MouseWheelPacket::new);
+        MOUSE_WHEEL(MouseWheelPacket.class, MouseWheelPacket::new),
+
+        CABLE_STATE(CableStatePacket.class, CableStatePacket::new);
 
         private final Function<FriendlyByteBuf, BasePacket> factory;
 
@@ -19,6 +19,7 @@
 package appeng.core.sync.network;
 
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 
 import appeng.core.sync.BasePacket;
@@ -37,6 +38,8 @@ static NetworkHandler instance() {
 
     void sendToDimension(final BasePacket message, final Level level);
 
+    void sendToTrackingChunk(final BasePacket message, final Level level, final ChunkPos chunkPos);
+
     void sendToServer(final BasePacket message);
 
 }
@@ -26,6 +26,7 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
 
@@ -71,6 +72,13 @@ public void sendToDimension(final BasePacket message, final Level world) {
         PlayerStream.world(world).forEach(player -> ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet));
     }
 
+    @Override
+    public void sendToTrackingChunk(final BasePacket message, final Level world, final ChunkPos chunkPos) {
+        var packet = message.toPacket(PacketFlow.CLIENTBOUND);
+        PlayerStream.watching(world, chunkPos)
+                .forEach(player -> ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet));
+    }
+
     @Override
     public void sendToServer(BasePacket message) {
         throw new IllegalStateException("Cannot send packets to the server when we're the server!");
@@ -18,6 +18,9 @@
 
 package appeng.core.sync.packets;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.netty.buffer.Unpooled;
 
 import net.fabricmc.api.EnvType;
@@ -35,26 +38,45 @@
 
 public class AssemblerAnimationPacket extends BasePacket {
 
-    private final BlockPos pos;
-    public final byte rate;
-    public final AEKey what;
+    /**
+     * The crafting animation of a single molecular assembler.
+     */
+    public record Animation(BlockPos pos, byte rate, AEKey what) {
+    }
+
+    public final List<Animation> animations;
 
     public AssemblerAnimationPacket(final FriendlyByteBuf stream) {
-        this.pos = stream.readBlockPos();
-        this.rate = stream.readByte();
-        this.what = AEKey.readKey(stream);
+        var count = stream.readVarInt();
+        this.animations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var pos = stream.readBlockPos();
+            var rate = stream.readByte();
+            var what = AEKey.readKey(stream);
+            this.animations.add(new Animation(pos, rate, what));
+        }
     }
 
     // api
     public AssemblerAnimationPacket(BlockPos pos, byte rate, AEKey what) {
+        this(List.of(new Animation(pos, rate, what)));
+    }
+
+    /**
+     * Sends the animations of several assemblers at once.
+     */
+    public AssemblerAnimationPacket(List<Animation> animations) {
 
         final FriendlyByteBuf data = new FriendlyByteBuf(Unpooled.buffer());
 
         data.writeInt(this.getPacketID());
-        data.writeBlockPos(this.pos = pos);
-        data.writeByte(this.rate = rate);
-        AEKey.writeKey(data, what);
-        this.what = what;
+        data.writeVarInt(animations.size());
+        for (var animation : animations) {
+            data.writeBlockPos(animation.pos());
+            data.writeByte(animation.rate());
+            AEKey.writeKey(data, animation.what());
+        }
+        this.animations = animations;
 
         this.configureWrite(data);
     }
@@ -62,9 +84,13 @@ public AssemblerAnimationPacket(BlockPos pos, byte rate, AEKey what) {
     @Override
     @Environment(EnvType.CLIENT)
     public void clientPacketData(final INetworkInfo network, final Player player) {
-        BlockEntity te = player.getCommandSenderWorld().getBlockEntity(pos);
-        if (te instanceof MolecularAssemblerBlockEntity ma) {
-            ma.setAnimationStatus(new AssemblerAnimationStatus(rate, what.wrapForDisplayOrFilter()));
+        var level = player.getCommandSenderWorld();
+        for (var animation : animations) {
+            BlockEntity te = level.getBlockEntity(animation.pos());
+            if (te instanceof MolecularAssemblerBlockEntity ma) {
+                ma.setAnimationStatus(
+                        new AssemblerAnimationStatus(animation.rate(), animation.what().wrapForDisplayOrFilter()));
+            }
         }
     }
 }
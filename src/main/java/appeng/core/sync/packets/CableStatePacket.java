@@ -0,0 +1,136 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.core.sync.packets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.Unpooled;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.ChunkPos;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import appeng.blockentity.networking.CableBusBlockEntity;
+import appeng.core.sync.BasePacket;
+import appeng.core.sync.network.INetworkInfo;
+import appeng.parts.networking.CablePart;
+
+/**
+ * Sends the changed power and channel state of the cables in one chunk. Positions are written relative to the chunk,
+ * and each state only includes the channels of the sides that are in use, see {@link CablePart#writeState}.
+ */
+public class CableStatePacket extends BasePacket {
+
+    /**
+     * Limits the number of cables per packet, so that a full chunk of cables stays well below the packet size limit.
+     */
+    public static final int MAX_ENTRIES = 8192;
+
+    public record Entry(BlockPos pos, long state) {
+    }
+
+    private final List<Entry> entries;
+
+    public CableStatePacket(final FriendlyByteBuf stream) {
+        var chunkPos = new ChunkPos(stream.readLong());
+        var count = stream.readVarInt();
+        this.entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var xz = stream.readByte();
+            var y = stream.readShort();
+            var pos = new BlockPos(chunkPos.getBlockX(xz >> 4 & 15), y, chunkPos.getBlockZ(xz & 15));
+            this.entries.add(new Entry(pos, CablePart.readState(stream)));
+        }
+    }
+
+    private CableStatePacket(ChunkPos chunkPos, List<Entry> entries) {
+        final FriendlyByteBuf data = new FriendlyByteBuf(Unpooled.buffer());
+
+        data.writeInt(this.getPacketID());
+        data.writeLong(chunkPos.toLong());
+        data.writeVarInt(entries.size());
+        for (var entry : entries) {
+            var pos = entry.pos();
+            data.writeByte((pos.getX() & 15) << 4 | pos.getZ() & 15);
+            data.writeShort(pos.getY());
+            CablePart.writeState(data, entry.state());
+        }
+        this.entries = entries;
+
+        this.configureWrite(data);
+    }
+
+    /**
+     * Collects the cable states of a single chunk.
+     */
+    public static class Builder {
+        private final ChunkPos chunkPos;
+        private final List<Entry> entries = new ArrayList<>();
+
+        public Builder(ChunkPos chunkPos) {
+            this.chunkPos = chunkPos;
+        }
+
+        public void add(BlockPos pos, long state) {
+            entries.add(new Entry(pos.immutable(), state));
+        }
+
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        public boolean isFull() {
+            return entries.size() >= MAX_ENTRIES;
+        }
+
+        public CableStatePacket build() {
+            return new CableStatePacket(chunkPos, List.copyOf(entries));
+        }
+    }
+
+    @Override
+    @Environment(EnvType.CLIENT)
+    public void clientPacketData(final INetworkInfo network, final Player player) {
+        var level = player.getCommandSenderWorld();
+
+        // Re-render each affected section once, rather than once per cable
+        var dirtySections = new LongOpenHashSet();
+        for (var entry : entries) {
+            if (level.getBlockEntity(entry.pos()) instanceof CableBusBlockEntity cableBus
+                    && cableBus.getPart(null) instanceof CablePart cable
+                    && cable.applyState(entry.state())) {
+                dirtySections.add(SectionPos.asLong(entry.pos()));
+            }
+        }
+
+        var levelRenderer = Minecraft.getInstance().levelRenderer;
+        for (var it = dirtySections.iterator(); it.hasNext();) {
+            var section = it.nextLong();
+            levelRenderer.setSectionDirty(SectionPos.x(section), SectionPos.y(section), SectionPos.z(section));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.core.sync.packets;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Remembers which keys have already been sent to a client over its current connection, so that
+ * {@link MEInventoryUpdatePacket} can refer to them by a short id instead of serializing them again. Keys with large
+ * NBT tags would otherwise be resent every time a terminal is opened.
+ * <p/>
+ * The server assigns the ids and the client stores the keys as it reads the packets. Since both sides process the
+ * packets of a connection in order, they agree on the ids without any further synchronization. The first packet that
+ * uses a new dictionary tells the client to forget the keys it knows from a previous connection.
+ */
+final class KeyDictionary {
+    /**
+     * Limits the number of keys remembered per connection. Further keys are always sent in full.
+     */
+    static final int MAX_SIZE = 65536;
+
+    // Written references are: no key, an uncached key, a key to be cached under an id, or the id of a cached key
+    private static final int REF_NONE = 0;
+    private static final int REF_INLINE = 1;
+    private static final int REF_STORE = 2;
+    private static final int REF_CACHED = 3;
+
+    private static final Map<ServerGamePacketListenerImpl, KeyDictionary> SERVER_DICTIONARIES = new WeakHashMap<>();
+
+    // Only accessed by the network thread that reads the packets from the server
+    private static final Int2ObjectMap<AEKey> CLIENT_KEYS = new Int2ObjectOpenHashMap<>();
+    // Set when the server referred to a key the client doesn't know, see takeClientDesync
+    private static boolean clientDesync;
+
+    private final Object2IntMap<AEKey> ids = new Object2IntOpenHashMap<>();
+
+    /**
+     * Whether the client has already been told to reset its dictionary for this connection.
+     */
+    private boolean announced;
+
+    private KeyDictionary() {
+        ids.defaultReturnValue(-1);
+    }
+
+    static KeyDictionary get(ServerGamePacketListenerImpl connection) {
+        return SERVER_DICTIONARIES.computeIfAbsent(connection, c -> new KeyDictionary());
+    }
+
+    /**
+     * Forgets the keys sent over the given connection. The next packet will tell the client to do the same.
+     */
+    static void reset(ServerGamePacketListenerImpl connection) {
+        SERVER_DICTIONARIES.remove(connection);
+    }
+
+    boolean isAnnounced() {
+        return announced;
+    }
+
+    int getId(AEKey key) {
+        return ids.getInt(key);
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    /**
+     * Records ids that have been sent to the client.
+     */
+    void commit(Object2IntMap<AEKey> sentIds) {
+        ids.putAll(sentIds);
+        announced = true;
+    }
+
+    /**
+     * Writes a reference to a key.
+     *
+     * @param id    The id the key is cached under, or -1.
+     * @param store True if the client doesn't know the id yet and should cache the key under it.
+     */
+    static void writeKey(FriendlyByteBuf buffer, @Nullable AEKey key, int id, boolean store) {
+        if (key == null) {
+            buffer.writeVarInt(REF_NONE);
+        } else if (id < 0) {
+            buffer.writeVarInt(REF_INLINE);
+            AEKey.writeKey(buffer, key);
+        } else if (store) {
+            buffer.writeVarInt(REF_STORE);
+            buffer.writeVarInt(id);
+            AEKey.writeKey(buffer, key);
+        } else {
+            buffer.writeVarInt(REF_CACHED + id);
+        }
+    }
+
+    /**
+     * Reads a key reference written by {@link #writeKey} on the client. If the server refers to a key id that the
+     * client doesn't know, i.e. because they went out of sync, null is returned and {@link #takeClientDesync()} will
+     * report it.
+     */
+    @Nullable
+    static AEKey readKey(FriendlyByteBuf buffer) {
+        var ref = buffer.readVarInt();
+        switch (ref) {
+            case REF_NONE:
+                return null;
+            case REF_INLINE:
+                return AEKey.readKey(buffer);
+            case REF_STORE: {
+                var id = buffer.readVarInt();
+                var key = AEKey.readKey(buffer);
+                CLIENT_KEYS.put(id, key);
+                return key;
+            }
+            default: {
+                var id = ref - REF_CACHED;
+                var key = CLIENT_KEYS.get(id);
+                if (key == null) {
+                    clientDesync = true;
+                }
+                return key;
+            }
+        }
+    }
+
+    /**
+     * Called on the client when the server starts using a new dictionary.
+     */
+    static void resetClient() {
+        CLIENT_KEYS.clear();
+    }
+
+    /**
+     * @return True if an unknown key id was read since the last call.
+     */
+    static boolean takeClientDesync() {
+        var result = clientDesync;
+        clientDesync = false;
+        return result;
+    }
+}
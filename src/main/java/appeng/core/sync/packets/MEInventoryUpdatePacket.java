@@ -28,9 +28,13 @@
 
 import io.netty.buffer.Unpooled;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 
 import appeng.api.stacks.AEKey;
@@ -47,9 +51,11 @@
 public class MEInventoryUpdatePacket extends BasePacket {
 
     /**
-     * Maximum size of a single packet before it will be flushed forcibly.
+     * Maximum size of a single packet before it will be flushed forcibly. Must stay well below the 1 MiB that Minecraft
+     * allows for the payload of a custom packet, since the last entry is only checked after it has been written.
+     * Packets exceeding that limit can't be sent at all, so the previous limit of 512 MiB never prevented that.
      */
-    private static final int UNCOMPRESSED_PACKET_BYTE_LIMIT = 512 * 1024 * 1024;
+    private static final int UNCOMPRESSED_PACKET_BYTE_LIMIT = 512 * 1024;
 
     /**
      * Initial buffer size for an update packet.
@@ -63,15 +69,29 @@ public class MEInventoryUpdatePacket extends BasePacket {
 
     private int containerId;
 
+    /**
+     * Set on the client if the packet referred to keys the client doesn't know.
+     */
+    private boolean desynced;
+
     public MEInventoryUpdatePacket(FriendlyByteBuf data) {
         this.containerId = data.readVarInt();
         this.fullUpdate = data.readBoolean();
+        if (data.readBoolean()) {
+            KeyDictionary.resetClient();
+        }
         var count = data.readShort();
         this.entries = new ArrayList<>(count);
 
         // We need to access the current screen to know which storage channel was used to serialize this data
         for (int i = 0; i < count; i++) {
-            this.entries.add(readEntry(data));
+            var entry = readEntry(data);
+            if (KeyDictionary.takeClientDesync()) {
+                // Skip the entry, the client will request a full update instead
+                this.desynced = true;
+            } else {
+                this.entries.add(entry);
+            }
         }
     }
 
@@ -94,11 +114,30 @@ public static class Builder {
 
         private int itemCount;
 
+        private long bytesWritten;
+
         @Nullable
         private AEKeyFilter filter;
 
+        @Nullable
+        private final KeyDictionary dictionary;
+
+        /**
+         * Keys that were added to the {@link #dictionary} by this builder. They're only committed to the dictionary
+         * once the packets have been sent.
+         */
+        private final Object2IntMap<AEKey> newDictionaryIds = new Object2IntOpenHashMap<>();
+
+        private boolean dictionaryResetWritten;
+
         public Builder(int containerId, boolean fullUpdate) {
+            this(containerId, fullUpdate, null);
+        }
+
+        private Builder(int containerId, boolean fullUpdate, @Nullable KeyDictionary dictionary) {
             this.containerId = containerId;
+            this.dictionary = dictionary;
+            this.newDictionaryIds.defaultReturnValue(-1);
 
             // If we are to send a full update, initialize the data buffer to ensure it is sent even if no
             // items are ever added (this indicates clearing the inventory client-side)
@@ -141,13 +180,35 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
                 KeyCounter networkStorage,
                 Set<AEKey> craftables,
                 KeyCounter requestables) {
-            for (AEKey key : updateHelper) {
+            addChanges(updateHelper, networkStorage, craftables, requestables, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Adds at most the given number of queued changes. The remaining changes stay queued in the update helper, so
+         * that large updates can be spread across several ticks, while the client already shows what it received.
+         */
+        public void addChanges(IncrementalUpdateHelper updateHelper,
+                KeyCounter networkStorage,
+                Set<AEKey> craftables,
+                KeyCounter requestables,
+                int maxEntries) {
+            int added = 0;
+            var it = updateHelper.iterator();
+            while (it.hasNext() && added < maxEntries) {
+                var key = it.next();
+                it.remove();
                 if (this.filter != null && !this.filter.matches(key)) {
                     continue;
                 }
+                added++;
 
                 AEKey sendKey;
                 Long serial = updateHelper.getSerial(key);
+                if (serial != null && updateHelper.isStale(serial)) {
+                    // The client forgot this serial during the last full update
+                    updateHelper.removeSerial(key);
+                    serial = null;
+                }
 
                 // Try to serialize the item into the buffer
                 if (serial == null) {
@@ -173,7 +234,7 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
                 }
             }
 
-            updateHelper.commitChanges();
+            updateHelper.commitSentChanges();
         }
 
         public void add(GridInventoryEntry entry) {
@@ -181,8 +242,12 @@ public void add(GridInventoryEntry entry) {
 
             // This should only error out if the entire packet exceeds about 2 megabytes of memory,
             // if any item writes that much junk to a share tag, it's acceptable to crash.
-            // We'll normaly flush much much earlier (32k)
-            writeEntry(data, entry);
+            // We'll normaly flush much much earlier (512k)
+            data.writeVarLong(entry.getSerial());
+            writeKey(data, entry.getWhat());
+            data.writeVarLong(entry.getStoredAmount());
+            data.writeVarLong(entry.getRequestableAmount());
+            data.writeBoolean(entry.isCraftable());
 
             ++itemCount;
 
@@ -191,6 +256,29 @@ public void add(GridInventoryEntry entry) {
             }
         }
 
+        /**
+         * Refers to keys that were already sent on the same connection by their id in the {@link #dictionary}.
+         */
+        private void writeKey(FriendlyByteBuf data, @Nullable AEKey what) {
+            int id = -1;
+            boolean store = false;
+            if (what != null && dictionary != null) {
+                id = dictionary.getId(what);
+                if (id < 0) {
+                    id = newDictionaryIds.getInt(what);
+                }
+                if (id < 0) {
+                    var nextId = dictionary.size() + newDictionaryIds.size();
+                    if (nextId < KeyDictionary.MAX_SIZE) {
+                        id = nextId;
+                        store = true;
+                        newDictionaryIds.put(what, id);
+                    }
+                }
+            }
+            KeyDictionary.writeKey(data, what, id, store);
+        }
+
         private void flushData() {
             if (data != null) {
                 // Jump back and fill in the number of items contained in the packet
@@ -200,6 +288,7 @@ private void flushData() {
                 data.resetWriterIndex();
 
                 // Build a packet and queue it
+                bytesWritten += data.readableBytes();
                 var packet = new MEInventoryUpdatePacket();
                 packet.configureWrite(data);
                 packets.add(packet);
@@ -225,6 +314,10 @@ private FriendlyByteBuf createPacketHeader(boolean fullUpdate) {
             data.writeInt(BasePacketHandler.PacketTypes.ME_INVENTORY_UPDATE.getPacketId());
             data.writeVarInt(containerId);
             data.writeBoolean(fullUpdate);
+            // The first packet using a new dictionary makes the client forget the keys of a previous connection
+            var resetDictionary = dictionary != null && !dictionary.isAnnounced() && !dictionaryResetWritten;
+            data.writeBoolean(resetDictionary);
+            dictionaryResetWritten |= resetDictionary;
 
             // This is a placeholder for the item count and will be added at the end,
             // so we need to remember where in the stream we have written it
@@ -234,15 +327,26 @@ private FriendlyByteBuf createPacketHeader(boolean fullUpdate) {
             return data;
         }
 
+        /**
+         * @return The size of the packets built so far, in bytes.
+         */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
         public List<MEInventoryUpdatePacket> build() {
             flushData();
             return packets;
         }
 
         public void buildAndSend(Consumer<MEInventoryUpdatePacket> sender) {
-            for (var packet : build()) {
+            var packets = build();
+            for (var packet : packets) {
                 sender.accept(packet);
             }
+            if (dictionary != null && !packets.isEmpty()) {
+                dictionary.commit(newDictionaryIds);
+            }
         }
 
     }
@@ -252,14 +356,18 @@ public static Builder builder(int containerId, boolean fullUpdate) {
     }
 
     /**
-     * Writes this entry to a packet buffer for shipping it to the client.
+     * Creates a builder for packets to the given player, which only sends the keys that weren't sent to the player's
+     * connection before.
+     */
+    public static Builder builder(int containerId, boolean fullUpdate, ServerPlayer player) {
+        return new Builder(containerId, fullUpdate, KeyDictionary.get(player.connection));
+    }
+
+    /**
+     * Forgets which keys were sent to the given player, so that the next update sends them in full again.
      */
-    private static void writeEntry(FriendlyByteBuf buffer, GridInventoryEntry entry) {
-        buffer.writeVarLong(entry.getSerial());
-        AEKey.writeOptionalKey(buffer, entry.getWhat());
-        buffer.writeVarLong(entry.getStoredAmount());
-        buffer.writeVarLong(entry.getRequestableAmount());
-        buffer.writeBoolean(entry.isCraftable());
+    public static void resetSentKeys(ServerPlayer player) {
+        KeyDictionary.reset(player.connection);
     }
 
     /**
@@ -267,7 +375,7 @@ private static void writeEntry(FriendlyByteBuf buffer, GridInventoryEntry entry)
      */
     public static GridInventoryEntry readEntry(FriendlyByteBuf buffer) {
         long serial = buffer.readVarLong();
-        AEKey what = AEKey.readOptionalKey(buffer);
+        AEKey what = KeyDictionary.readKey(buffer);
         long storedAmount = buffer.readVarLong();
         long requestableAmount = buffer.readVarLong();
         boolean craftable = buffer.readBoolean();
@@ -286,6 +394,11 @@ public void clientPacketData(INetworkInfo network, Player player) {
             }
 
             clientRepo.handleUpdate(fullUpdate, entries);
+
+            if (desynced) {
+                AELog.info("ME inventory update referred to unknown keys, requesting a full update.");
+                meMenu.requestFullUpdate();
+            }
         }
     }
 
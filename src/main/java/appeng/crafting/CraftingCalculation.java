@@ -40,6 +40,7 @@ public class CraftingCalculation {
     private static final String LOG_MACHINE_SOURCE_DETAILS = "Machine[object=%s, %s, %s]";
 
     private final NetworkCraftingSimulationState networkInv;
+    private final CraftingPatternIndex patternIndex;
     private final Level level;
     private final KeyCounter missing = new KeyCounter();
     private final Object monitor = new Object();
@@ -52,18 +53,36 @@ public class CraftingCalculation {
     private boolean done = false;
     private int time = 5;
     private int incTime = Integer.MAX_VALUE;
+    /**
+     * If true, the calculation runs freely on its own thread instead of taking turns with the server thread. The
+     * network inventory and the patterns are snapshotted in the constructor, and the resulting plan is validated
+     * against the real network when it gets submitted. Patterns are still shared with the server thread and other
+     * calculations, and substitution checks call {@link net.minecraft.world.item.crafting.Recipe#matches}, which is
+     * only serialized per pattern by {@link appeng.crafting.pattern.AECraftingPattern}. Recipes added by other mods may
+     * not be safe to match off the server thread, which is why this is opt-in.
+     */
+    private final boolean async;
 
     public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
             GenericStack output) {
+        this(level, grid, simRequester, output, false);
+    }
+
+    /**
+     * Must be constructed on the server thread, since it snapshots the grid.
+     */
+    public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
+            GenericStack output, boolean async) {
         this.level = level;
         this.output = output;
         this.simRequester = simRequester;
+        this.async = async;
 
         var storage = grid.getStorageService();
-        var craftingService = grid.getCraftingService();
         this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource());
+        this.patternIndex = CraftingPatternIndex.of(grid.getCraftingService());
 
-        this.tree = new CraftingTreeNode(craftingService, this, output.what(), 1, null, -1);
+        this.tree = new CraftingTreeNode(patternIndex, this, output.what(), 1, null, -1);
     }
 
     void addMissing(AEKey what, long amount) {
@@ -72,8 +91,10 @@ void addMissing(AEKey what, long amount) {
 
     public CraftingPlan run() {
         try {
-            TickHandler.instance().registerCraftingSimulation(this.level, this);
-            this.handlePausing();
+            if (!this.async) {
+                TickHandler.instance().registerCraftingSimulation(this.level, this);
+                this.handlePausing();
+            }
 
             try {
                 return computeCraft(false);
@@ -116,6 +137,14 @@ void handlePausing() throws InterruptedException {
         if (this.incTime > 100) {
             this.incTime = 0;
 
+            if (this.async) {
+                // Nothing to take turns with, but still honor cancellation.
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                return;
+            }
+
             synchronized (this.monitor) {
                 if (this.watch.elapsed(TimeUnit.MICROSECONDS) > this.time) {
                     this.running = false;
@@ -165,6 +194,10 @@ Level getLevel() {
         return this.level;
     }
 
+    CraftingPatternIndex getPatternIndex() {
+        return this.patternIndex;
+    }
+
     /**
      * returns true if this needs more simulation.
      *
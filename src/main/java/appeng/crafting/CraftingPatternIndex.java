@@ -0,0 +1,106 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.ICraftingService;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
+import appeng.me.service.CraftingService;
+
+/**
+ * Immutable snapshot of the patterns and emitable items of a grid, as seen by the crafting simulation. Since it is
+ * never modified after construction, it can be read from the crafting calculation threads while the server thread
+ * keeps mounting and unmounting providers.
+ */
+public final class CraftingPatternIndex {
+    private final Map<AEKey, List<IPatternDetails>> patterns;
+    private final Set<AEKey> emitableItems;
+    /**
+     * Used for looking up craftable alternatives using fuzzy search (i.e. ignore NBT). Only read after construction.
+     */
+    private final KeyCounter craftableItemsList = new KeyCounter();
+
+    public CraftingPatternIndex(Map<AEKey, ? extends Collection<IPatternDetails>> patterns,
+            Collection<AEKey> emitableItems) {
+        var builder = ImmutableMap.<AEKey, List<IPatternDetails>>builder();
+        for (var entry : patterns.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                builder.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+                this.craftableItemsList.add(entry.getKey(), 1);
+            }
+        }
+        this.patterns = builder.build();
+        this.emitableItems = ImmutableSet.copyOf(emitableItems);
+    }
+
+    /**
+     * Returns the pattern index of the given crafting service. The grid's own service keeps its snapshot cached
+     * between provider changes, other implementations are copied through the public API.
+     */
+    public static CraftingPatternIndex of(ICraftingService craftingService) {
+        if (craftingService instanceof CraftingService service) {
+            return service.getPatternIndex();
+        }
+
+        var patterns = new HashMap<AEKey, Collection<IPatternDetails>>();
+        var emitable = new ArrayList<AEKey>();
+        for (var what : craftingService.getCraftables(AEKeyFilter.none())) {
+            patterns.put(what, craftingService.getCraftingFor(what));
+            if (craftingService.canEmitFor(what)) {
+                emitable.add(what);
+            }
+        }
+        return new CraftingPatternIndex(patterns, emitable);
+    }
+
+    public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+        var result = this.patterns.get(whatToCraft);
+        return result != null ? result : List.of();
+    }
+
+    @Nullable
+    public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+        for (var fuzzy : craftableItemsList.findFuzzy(whatToCraft, FuzzyMode.IGNORE_ALL)) {
+            if (filter.matches(fuzzy.getKey())) {
+                return fuzzy.getKey();
+            }
+        }
+        return null;
+    }
+
+    public boolean canEmitFor(AEKey what) {
+        return this.emitableItems.contains(what);
+    }
+}
@@ -27,7 +27,6 @@
 
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.execution.CraftingCpuHelper;
@@ -64,7 +63,7 @@ public class CraftingTreeNode {
     private ArrayList<CraftingTreeProcess> nodes = null;
     private final boolean canEmit;
 
-    public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what, long amount,
+    public CraftingTreeNode(CraftingPatternIndex cc, CraftingCalculation job, AEKey what, long amount,
             CraftingTreeProcess par, int slot) {
         this.parent = par;
         this.parentInput = slot == -1 ? null : par.details.getInputs()[slot];
@@ -76,7 +75,7 @@ public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what
         this.canEmit = cc.canEmitFor(what);
     }
 
-    private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
+    private AEKey findCraftedStack(CraftingPatternIndex cc, AEKey wat) {
         if (cc.canEmitFor(wat)) {
             return wat; // if we can emit for something, use that.
         }
@@ -107,16 +106,12 @@ private void buildChildPatterns() {
         if (this.nodes == null) {
             this.nodes = new ArrayList<>();
 
-            var gridNode = this.job.simRequester.getGridNode();
+            // Use the snapshot taken when the job started: the grid may change while this runs on another thread.
+            var patternIndex = this.job.getPatternIndex();
 
-            // If the node is null, we just skip patterns and let the request (likely) fail.
-            if (gridNode != null) {
-                var craftingService = gridNode.getGrid().getCraftingService();
-
-                for (var details : craftingService.getCraftingFor(this.what)) {
-                    if (this.parent == null || this.parent.notRecursive(details)) {
-                        this.nodes.add(new CraftingTreeProcess(craftingService, job, details, this));
-                    }
+            for (var details : patternIndex.getCraftingFor(this.what)) {
+                if (this.parent == null || this.parent.notRecursive(details)) {
+                    this.nodes.add(new CraftingTreeProcess(patternIndex, job, details, this));
                 }
             }
         }
@@ -228,10 +223,22 @@ void request(final CraftingSimulationState inv, long requestedAmount,
             // Multiple branches: try as much as possible of one branch before moving to the next one.
             for (final CraftingTreeProcess pro : this.nodes) {
                 try {
+                    var craftedPerPattern = pro.getOutputCount(this.what);
+                    long batch = getBatchSize(pro, craftedPerPattern, totalRequestedItems);
+
                     while (pro.possible && totalRequestedItems > 0) {
                         final ChildCraftingSimulationState child = new ChildCraftingSimulationState(inv);
-                        // craft one by one, using the sub inventory as target
-                        pro.request(child, 1);
+                        // craft as many as we still need at once, using the sub inventory as target, and halve the
+                        // batch when that fails, so that we end up crafting as many as the branch allows.
+                        try {
+                            pro.request(child, batch);
+                        } catch (final CraftBranchFailure fail) {
+                            if (batch == 1) {
+                                throw fail;
+                            }
+                            batch /= 2;
+                            continue;
+                        }
 
                         // by now we have succeeded, as request throws an exception in case of failure
                         var available = child.extract(this.what, totalRequestedItems, Actionable.MODULATE);
@@ -244,6 +251,8 @@ void request(final CraftingSimulationState inv, long requestedAmount,
                             if (totalRequestedItems <= 0) {
                                 return;
                             }
+
+                            batch = Math.min(batch, getBatchSize(pro, craftedPerPattern, totalRequestedItems));
                         } else {
                             pro.possible = false; // ;P
                         }
@@ -262,6 +271,17 @@ void request(final CraftingSimulationState inv, long requestedAmount,
         }
     }
 
+    /**
+     * How many times the pattern should be requested at once to craft the given amount, if it doesn't need to be
+     * simulated one by one.
+     */
+    private static long getBatchSize(CraftingTreeProcess pro, long craftedPerPattern, long totalRequestedItems) {
+        if (pro.limitsQuantity() || craftedPerPattern <= 0) {
+            return 1;
+        }
+        return (totalRequestedItems + craftedPerPattern - 1) / craftedPerPattern;
+    }
+
     // Only item stacks are supported.
     private void addContainerItems(AEKey template, long multiplier,
             @Nullable KeyCounter outputList) {
@@ -23,7 +23,6 @@
 
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.inv.CraftingSimulationState;
@@ -46,7 +45,7 @@ public class CraftingTreeProcess {
      */
     private boolean limitQty;
 
-    public CraftingTreeProcess(final ICraftingService cc, final CraftingCalculation job,
+    public CraftingTreeProcess(final CraftingPatternIndex cc, final CraftingCalculation job,
             final IPatternDetails details,
             final CraftingTreeNode craftingTreeNode) {
         this.parent = craftingTreeNode;
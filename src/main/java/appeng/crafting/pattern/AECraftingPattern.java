@@ -240,23 +240,26 @@ public boolean isItemValid(int slot, AEItemKey key, Level level) {
             return sparseInputs[slot] == null;
         }
 
-        var result = getTestResult(slot, key);
-        if (result != null) {
-            return result;
-        }
+        // Crafting calculations may check patterns off the server thread, and the frame and cache are shared
+        synchronized (testFrame) {
+            var result = getTestResult(slot, key);
+            if (result != null) {
+                return result;
+            }
 
-        // Fill frame and check result
-        var previousStack = testFrame.removeItemNoUpdate(slot);
-        testFrame.setItem(slot, key.toStack());
+            // Fill frame and check result
+            var previousStack = testFrame.removeItemNoUpdate(slot);
+            testFrame.setItem(slot, key.toStack());
 
-        var newResult = recipe.matches(testFrame, level) && ItemStack.matches(output, recipe.assemble(testFrame));
+            var newResult = recipe.matches(testFrame, level) && ItemStack.matches(output, recipe.assemble(testFrame));
 
-        setTestResult(slot, key, newResult);
+            setTestResult(slot, key, newResult);
 
-        // Restore old stack in the frame
-        testFrame.setItem(slot, previousStack);
+            // Restore old stack in the frame
+            testFrame.setItem(slot, previousStack);
 
-        return newResult;
+            return newResult;
+        }
     }
 
     /**
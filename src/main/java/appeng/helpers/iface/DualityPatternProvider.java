@@ -69,6 +69,7 @@
 import appeng.core.settings.TickRates;
 import appeng.helpers.ICustomNameObject;
 import appeng.me.helpers.MachineSource;
+import appeng.me.service.CraftingService;
 import appeng.util.ConfigManager;
 import appeng.util.inv.AppEngInternalInventory;
 import appeng.util.inv.InternalInventoryHost;
@@ -83,7 +84,11 @@ public class DualityPatternProvider implements InternalInventoryHost, ICraftingP
     private final IPatternProviderHost host;
     private final IManagedGridNode mainNode;
     private final IActionSource actionSource;
-    private final ConfigManager configManager = new ConfigManager();
+    private final ConfigManager configManager = new ConfigManager((manager, setting) -> {
+        if (setting == Settings.PATTERN_ACCESS_TERMINAL) {
+            this.terminalChanged();
+        }
+    });
 
     // Pattern storing logic
     private final AppEngInternalInventory patternInventory = new AppEngInternalInventory(this, NUMBER_OF_PATTERN_SLOTS);
@@ -98,6 +103,15 @@ public class DualityPatternProvider implements InternalInventoryHost, ICraftingP
     private Direction sendDirection;
     // Stack returning logic
     private final PatternProviderReturnInventory returnInv;
+    // Pattern access terminal logic
+    private long terminalVersion;
+    @Nullable
+    private Component termName;
+    /**
+     * The grid whose terminals were last told about this provider, so they also learn about it leaving that grid.
+     */
+    @Nullable
+    private IGrid announcedGrid;
 
     public DualityPatternProvider(IManagedGridNode mainNode, IPatternProviderHost host) {
         this.host = host;
@@ -162,6 +176,7 @@ public void saveChanges() {
     public void onChangeInventory(InternalInventory inv, int slot, ItemStack removedStack, ItemStack newStack) {
         this.saveChanges();
         this.updatePatterns();
+        this.terminalChanged();
     }
 
     @Override
@@ -343,6 +358,7 @@ public InternalInventory getPatternInv() {
 
     public void onMainNodeStateChanged() {
         ICraftingProvider.requestUpdate(this.mainNode);
+        this.terminalChanged();
         this.mainNode.ifPresent((grid, node) -> {
             grid.getTickManager().alertDevice(node);
         });
@@ -386,10 +402,73 @@ public TickRateModulation tickingRequest(@Nonnull IGridNode node, int ticksSince
         }
     }
 
+    @Nullable
+    public IGrid getGrid() {
+        return this.mainNode.getGrid();
+    }
+
+    /**
+     * @return True if this provider should be shown in the pattern access terminals of its grid.
+     */
+    public boolean isVisibleInTerminal() {
+        return this.mainNode.isActive()
+                && this.configManager.getSetting(Settings.PATTERN_ACCESS_TERMINAL) == YesNo.YES;
+    }
+
+    /**
+     * Incremented whenever something shown in the pattern access terminal changes, which allows terminals to skip
+     * providers they are already up-to-date with.
+     */
+    public long getTerminalVersion() {
+        return this.terminalVersion;
+    }
+
+    /**
+     * Called by the host when a neighboring block or the push direction changed, which may change the name shown in
+     * the pattern access terminal.
+     */
+    public void updateTermName() {
+        this.termName = null;
+        this.terminalChanged();
+    }
+
+    /**
+     * Called by the host after its node has been destroyed, so that terminals stop showing this provider.
+     */
+    public void onRemoved() {
+        this.terminalChanged();
+    }
+
+    private void terminalChanged() {
+        this.terminalVersion++;
+
+        var grid = this.mainNode.getGrid();
+        if (this.announcedGrid != null && this.announcedGrid != grid) {
+            notifyTerminals(this.announcedGrid);
+        }
+        this.announcedGrid = grid;
+        if (grid != null) {
+            notifyTerminals(grid);
+        }
+    }
+
+    private void notifyTerminals(IGrid grid) {
+        if (grid.getCraftingService() instanceof CraftingService craftingService) {
+            craftingService.onPatternProviderChanged(this);
+        }
+    }
+
     // TODO: get rid of this awful code
     private static final Collection<Block> BAD_BLOCKS = new HashSet<>(100);
 
     public Component getTermName() {
+        if (this.termName == null) {
+            this.termName = this.computeTermName();
+        }
+        return this.termName;
+    }
+
+    private Component computeTermName() {
         final BlockEntity host = this.host.getBlockEntity();
         final Level hostWorld = host.getLevel();
 
@@ -24,13 +24,15 @@
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.Container;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.InteractionResultHolder;
@@ -41,7 +43,6 @@
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.UseOnContext;
-import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeType;
 import net.minecraft.world.item.crafting.SmeltingRecipe;
 import net.minecraft.world.level.ClipContext.Fluid;
@@ -62,6 +63,7 @@
 import appeng.hooks.IBlockTool;
 import appeng.items.tools.powered.powersink.AEBasePoweredItem;
 import appeng.menu.NullMenu;
+import appeng.recipes.RecipeTypeCache;
 import appeng.recipes.entropy.EntropyMode;
 import appeng.recipes.entropy.EntropyRecipe;
 import appeng.util.InteractionUtil;
@@ -74,6 +76,9 @@ public class EntropyManipulatorItem extends AEBasePoweredItem implements IBlockT
      */
     private static final int ENERGY_PER_USE = 1600;
 
+    private static final RecipeTypeCache<EntropyRecipe, ListMultimap<EntropyMode, EntropyRecipe>> RECIPES_BY_MODE = new RecipeTypeCache<>(
+            EntropyRecipe.TYPE, EntropyRecipe.class, recipes -> Multimaps.index(recipes, EntropyRecipe::getMode));
+
     public EntropyManipulatorItem(Item.Properties props) {
         super(AEConfig.instance().getEntropyManipulatorBattery(), props);
     }
@@ -281,9 +286,7 @@ private boolean performInWorldSmelting(ItemStack item, Level level, Player p, Bl
     @Nullable
     private static EntropyRecipe findRecipe(Level level, EntropyMode mode, BlockState blockState,
             FluidState fluidState) {
-        for (Recipe<Container> recipe : level.getRecipeManager().byType(EntropyRecipe.TYPE).values()) {
-            EntropyRecipe entropyRecipe = (EntropyRecipe) recipe;
-
+        for (EntropyRecipe entropyRecipe : RECIPES_BY_MODE.get(level.getRecipeManager()).get(mode)) {
             if (entropyRecipe.matches(mode, blockState, fluidState)) {
                 return entropyRecipe;
             }
@@ -28,7 +28,6 @@
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.chat.Component;
-import net.minecraft.world.Container;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.InteractionResultHolder;
@@ -42,7 +41,6 @@
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
-import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.ClipContext.Block;
 import net.minecraft.world.level.ClipContext.Fluid;
@@ -79,6 +77,8 @@
 import appeng.items.tools.powered.powersink.AEBasePoweredItem;
 import appeng.me.helpers.PlayerSource;
 import appeng.parts.automation.UpgradeInventory;
+import appeng.recipes.IngredientIndex;
+import appeng.recipes.RecipeTypeCache;
 import appeng.recipes.mattercannon.MatterCannonAmmo;
 import appeng.util.ConfigInventory;
 import appeng.util.InteractionUtil;
@@ -91,6 +91,15 @@ public class MatterCannonItem extends AEBasePoweredItem implements IBasicCellIte
      */
     private static final int ENERGY_PER_SHOT = 1600;
 
+    private static final RecipeTypeCache<MatterCannonAmmo, IngredientIndex<MatterCannonAmmo>> AMMO_BY_ITEM = new RecipeTypeCache<>(
+            MatterCannonAmmo.TYPE, MatterCannonAmmo.class, recipes -> {
+                var index = new IngredientIndex<MatterCannonAmmo>();
+                for (var recipe : recipes) {
+                    index.add(recipe.getAmmo(), recipe);
+                }
+                return index;
+            });
+
     public MatterCannonItem(Item.Properties props) {
         super(AEConfig.instance().getMatterCannonBattery(), props);
     }
@@ -433,12 +442,9 @@ private float getPenetration(ItemStack itemStack) {
             return 0;
         }
 
-        var recipes = server.getRecipeManager().byType(MatterCannonAmmo.TYPE);
-        for (Recipe<Container> recipe : recipes.values()) {
-            if (recipe instanceof MatterCannonAmmo ammoRecipe) {
-                if (ammoRecipe.getAmmo().test(itemStack)) {
-                    return ammoRecipe.getWeight();
-                }
+        for (var ammoRecipe : AMMO_BY_ITEM.get(server.getRecipeManager()).get(itemStack)) {
+            if (ammoRecipe.getAmmo().test(itemStack)) {
+                return ammoRecipe.getWeight();
             }
         }
 
@@ -25,7 +25,6 @@
 import java.util.Objects;
 import java.util.Set;
 
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.SetMultimap;
 
@@ -49,6 +48,7 @@ public class Grid implements IGrid {
      */
     private static final List<IGridNode> ITERATION_BUFFER = new ArrayList<>();
     private final SetMultimap<Class<?>, IGridNode> machines = MultimapBuilder.hashKeys().hashSetValues().build();
+    private final MachineIndex machineIndex = new MachineIndex();
     private final Map<Class<?>, IGridServiceProvider> services;
     private GridNode pivot;
     private int priority; // how import is this network?
@@ -97,6 +97,7 @@ void remove(final GridNode gridNode) {
 
         var machineClass = gridNode.getOwner().getClass();
         this.machines.remove(machineClass, gridNode);
+        this.machineIndex.remove(gridNode);
 
         gridNode.setGridStorage(null);
 
@@ -154,6 +155,7 @@ void add(final GridNode gridNode) {
 
         // track node.
         this.machines.put(gridNode.getOwner().getClass(), gridNode);
+        this.machineIndex.add(gridNode);
 
         for (var service : this.services.values()) {
             service.addNode(gridNode);
@@ -188,28 +190,29 @@ public Iterable<IGridNode> getMachineNodes(Class<?> machineClass) {
 
     @Override
     public <T> Set<T> getMachines(Class<T> machineClass) {
-        Set<IGridNode> nodes = this.machines.get(machineClass);
-        var resultBuilder = ImmutableSet.<T>builder();
-        for (IGridNode node : nodes) {
-            var logicalHost = node.getOwner();
-            if (machineClass.isInstance(logicalHost)) {
-                resultBuilder.add(machineClass.cast(logicalHost));
-            }
-        }
-        return resultBuilder.build();
+        return this.machineIndex.getExact(machineClass, false);
     }
 
     @Override
     public <T> Set<T> getActiveMachines(Class<T> machineClass) {
-        Set<IGridNode> nodes = this.machines.get(machineClass);
-        var resultBuilder = ImmutableSet.<T>builder();
-        for (IGridNode node : nodes) {
-            var logicalHost = node.getOwner();
-            if (machineClass.isInstance(logicalHost) && node.isActive()) {
-                resultBuilder.add(machineClass.cast(logicalHost));
-            }
-        }
-        return resultBuilder.build();
+        return this.machineIndex.getExact(machineClass, true);
+    }
+
+    @Override
+    public <T> Set<T> getMachinesAssignableTo(Class<T> machineType) {
+        return this.machineIndex.getAssignableTo(machineType, getNodes(), false);
+    }
+
+    @Override
+    public <T> Set<T> getActiveMachinesAssignableTo(Class<T> machineType) {
+        return this.machineIndex.getAssignableTo(machineType, getNodes(), true);
+    }
+
+    /**
+     * Called by nodes of this grid when their power, channel or booting state changed.
+     */
+    void onNodeStateChanged(GridNode node) {
+        this.machineIndex.updateActiveState(node);
     }
 
     @Override
@@ -227,10 +230,6 @@ public IGridNode getPivot() {
         return this.pivot;
     }
 
-    void setPivot(final GridNode pivot) {
-        this.pivot = pivot;
-    }
-
     public void onServerStartTick() {
         for (var gc : this.services.values()) {
             if (this.pivot != null) {
@@ -18,6 +18,7 @@
 
 package appeng.me;
 
+import java.util.List;
 import java.util.Objects;
 
 import javax.annotation.Nullable;
@@ -35,6 +36,7 @@
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridNodeListener;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 import appeng.util.Platform;
 
 public class GridConnection implements IGridConnection, IPathItem {
@@ -90,8 +92,7 @@ public void destroy() {
         this.sideA.removeConnection(this);
         this.sideB.removeConnection(this);
 
-        this.sideA.validateGrid();
-        this.sideB.validateGrid();
+        GridSplitDetector.detectSplits(List.of(this.sideA, this.sideB));
     }
 
     @Override
@@ -212,9 +213,9 @@ public static GridConnection create(final IGridNode aNode, final IGridNode bNode
 
         mergeGrids(a, b);
 
-        // a connection was destroyed RE-PATH!!
-        var p = connection.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        // a connection was created RE-PATH!!
+        var p = (PathingService) connection.sideA.getInternalGrid().getPathingService();
+        p.onConnectionCreated(connection);
 
         connection.sideA.addConnection(connection);
         connection.sideB.addConnection(connection);
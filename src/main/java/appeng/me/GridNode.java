@@ -135,6 +135,9 @@ public <T> void callListener(ListenerCallback<T> callback) {
      * Notifies the grid node's listener about a potential change in the grid node's status.
      */
     public void notifyStatusChange(IGridNodeListener.State reason) {
+        if (this.myGrid != null) {
+            this.myGrid.onNodeStateChanged(this);
+        }
         callListener((listener, owner, node) -> listener.onStateChanged(owner, node, reason));
     }
 
@@ -163,18 +166,8 @@ boolean hasConnection(final IGridNode otherSide) {
         return false;
     }
 
-    void validateGrid() {
-        if (!ready) {
-            // We're in the process of being destroyed
-            return;
-        }
-
-        var gsd = new GridSplitDetector(this.getInternalGrid().getPivot());
-        this.beginVisit(gsd);
-        if (!gsd.isPivotFound()) {
-            var gp = new GridPropagator(Grid.create(this));
-            this.beginVisit(gp);
-        }
+    boolean isReady() {
+        return ready;
     }
 
     public Grid getInternalGrid() {
@@ -316,42 +309,22 @@ public void destroy() {
         // no longer available.
         this.ready = false;
 
-        boolean movedPivot = false;
-
-        // First pass: Remove the connection on the other side
+        // Remove the connection on the other side, and remember the nodes that may have been split off
+        var adjacentNodes = new ArrayList<GridNode>(connections.size());
         for (var connection : connections) {
             var otherSide = (GridNode) connection.getOtherSide(this);
 
-            // Moving the pivot closer means we potentially have to search fewer nodes
-            // when searching for a grid split. Especially if the grid hasn't really been split.
-            // In grids with a controller, side A of the connection will be closer to the controller
-            // By moving the pivot to side A, the controller will NOT receive a new grid, which
-            // is potentially beneficial by assuming the controller has a lot more connected
-            // nodes that are not disrupted by this node being destroyed.
-            if (!movedPivot && connection.a() != this && myGrid != null) {
-                myGrid.setPivot((GridNode) connection.a());
-                movedPivot = true;
-            }
-
             // Ensure the other side holds no reference to this node anymore
             otherSide.removeConnection(connection);
+            adjacentNodes.add(otherSide);
         }
 
-        // Second pass: Re-validate the grids of the previously connected, adjacent nodes
-        for (var connection : connections) {
-            var otherSide = (GridNode) connection.getOtherSide(this);
-
-            // If we were unable to move the pivot away from ourselves in the first pass
-            // just move it to the first eligible node, but only if we're the pivot
-            if (!movedPivot && myGrid != null && myGrid.getPivot() == this) {
-                myGrid.setPivot(otherSide);
-                movedPivot = true;
-            }
-
-            // Re-validating the grid will cause the actual grid split to occur if the previously adjacent nodes
-            // were only connected by this node.
-            otherSide.validateGrid();
+        // Re-validating the grid will cause the actual grid split to occur if the previously adjacent nodes
+        // were only connected by this node. The part that is found last keeps this grid, regardless of where
+        // its pivot is. If this node is the pivot, the grid picks a new one when this node is removed below.
+        GridSplitDetector.detectSplits(adjacentNodes);
 
+        for (var otherSide : adjacentNodes) {
             // Cause a repath later. This is not done immediately.
             otherSide.getInternalGrid().getPathingService().repath();
         }
@@ -456,7 +429,8 @@ public void saveToNBT(final String name, final CompoundTag nodeData) {
 
     @Override
     public boolean meetsChannelRequirements() {
-        return !flags.contains(GridFlags.REQUIRE_CHANNEL) || this.getUsedChannels() > 0;
+        // Uses the finalized channels, since devices stay online while channels are being reassigned
+        return !flags.contains(GridFlags.REQUIRE_CHANNEL) || this.getLastUsedChannels() > 0;
     }
 
     @Override
@@ -18,32 +18,131 @@
 
 package appeng.me;
 
-import appeng.api.networking.IGridNode;
-import appeng.api.networking.IGridVisitor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
 
-class GridSplitDetector implements IGridVisitor {
-
-    private final IGridNode pivot;
-    private boolean pivotFound;
+/**
+ * Detects whether removing connections has split a grid, and moves the parts that were split off into new grids.
+ * <p/>
+ * Instead of searching the grid for its pivot from every node that lost a connection, a breadth-first search is
+ * started from each of these nodes and all searches are advanced in lockstep, one node at a time. When two searches
+ * meet, they are in the same part of the grid and continue as one. When a search runs out of nodes, it has found a part
+ * that was split off. As soon as only a single search remains, its nodes are known to still form the original grid.
+ * <p/>
+ * This way, a split only costs time proportional to the smaller parts of the grid, instead of the entire grid.
+ */
+final class GridSplitDetector {
 
-    public GridSplitDetector(final IGridNode pivot) {
-        this.pivot = pivot;
+    private GridSplitDetector() {
     }
 
-    @Override
-    public boolean visitNode(final IGridNode n) {
-        if (n == this.pivot) {
-            this.setPivotFound(true);
+    /**
+     * @param startNodes The nodes that lost a connection. They must all have been part of the same grid before.
+     */
+    static void detectSplits(Collection<GridNode> startNodes) {
+        var visitedBy = new IdentityHashMap<GridNode, Search>();
+        var searches = new ArrayList<Search>(startNodes.size());
+        for (var node : startNodes) {
+            // Nodes that are being destroyed will leave the grid anyway
+            if (node.isReady() && !visitedBy.containsKey(node)) {
+                var search = new Search(node);
+                visitedBy.put(node, search);
+                searches.add(search);
+            }
         }
 
-        return !this.isPivotFound();
-    }
+        var splitOff = new ArrayList<Search>();
+        var activeSearches = searches.size();
+        while (activeSearches > 1) {
+            for (var search : searches) {
+                if (activeSearches <= 1) {
+                    break;
+                }
+                if (search.finished) {
+                    continue;
+                }
+
+                var node = search.frontier.poll();
+                if (node == null) {
+                    // This search did not meet any other search, so it covers a part that was split off
+                    search.finished = true;
+                    splitOff.add(search);
+                    activeSearches--;
+                    continue;
+                }
 
-    public boolean isPivotFound() {
-        return this.pivotFound;
+                for (var connection : node.connections) {
+                    var otherSide = (GridNode) connection.getOtherSide(node);
+                    var otherSearch = visitedBy.get(otherSide);
+                    if (otherSearch == null) {
+                        visitedBy.put(otherSide, search);
+                        search.visit(otherSide);
+                    } else {
+                        otherSearch = otherSearch.resolve();
+                        if (otherSearch != search) {
+                            search.absorb(otherSearch);
+                            activeSearches--;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Only move nodes after all searches are done, since changing the grid of a node notifies its listener
+        for (var search : splitOff) {
+            var grid = Grid.create(search.visited.get(0));
+            for (var node : search.visited) {
+                node.setGrid(grid);
+            }
+        }
     }
 
-    private void setPivotFound(final boolean pivotFound) {
-        this.pivotFound = pivotFound;
+    private static class Search {
+        private Deque<GridNode> frontier = new ArrayDeque<>();
+        private List<GridNode> visited = new ArrayList<>();
+        private Search mergedInto;
+        private boolean finished;
+
+        public Search(GridNode start) {
+            visit(start);
+        }
+
+        private void visit(GridNode node) {
+            frontier.add(node);
+            visited.add(node);
+        }
+
+        private Search resolve() {
+            var result = this;
+            while (result.mergedInto != null) {
+                result = result.mergedInto;
+            }
+            return result;
+        }
+
+        /**
+         * Continues the other search as part of this one, after both have met.
+         */
+        private void absorb(Search other) {
+            // Always copy the smaller lists into the larger ones
+            if (other.visited.size() > visited.size()) {
+                var tmpVisited = visited;
+                visited = other.visited;
+                other.visited = tmpVisited;
+                var tmpFrontier = frontier;
+                frontier = other.frontier;
+                other.frontier = tmpFrontier;
+            }
+            visited.addAll(other.visited);
+            frontier.addAll(other.frontier);
+            other.visited = List.of();
+            other.frontier = new ArrayDeque<>();
+            other.mergedInto = this;
+            other.finished = true;
+        }
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import appeng.api.networking.IGridNode;
+
+/**
+ * Indexes the owners of the nodes in a grid by their exact class, and by any class or interface that was requested
+ * via {@link #getAssignableTo}. The sets handed out are live, read-only views that are updated as nodes join or leave
+ * the grid or change their active state, so callers can iterate them without allocating or scanning unrelated
+ * machines.
+ */
+final class MachineIndex {
+    private final Map<Class<?>, Machines> byExactClass = new HashMap<>();
+    private final Map<Class<?>, Machines> byAssignableClass = new HashMap<>();
+    /**
+     * For each owner class in the grid, the assignable indices that its owners are part of. Cleared whenever a new
+     * assignable index is created.
+     */
+    private final Map<Class<?>, List<Machines>> assignableByOwnerClass = new HashMap<>();
+    /**
+     * The indexed nodes, and whether they were active when they were last indexed.
+     */
+    private final Reference2BooleanOpenHashMap<IGridNode> indexedNodes = new Reference2BooleanOpenHashMap<>();
+
+    void add(IGridNode node) {
+        var active = node.isActive();
+        indexedNodes.put(node, active);
+
+        var owner = node.getOwner();
+        byExactClass.computeIfAbsent(owner.getClass(), c -> new Machines()).add(owner, active);
+        for (var machines : getAssignableIndices(owner.getClass())) {
+            machines.add(owner, active);
+        }
+    }
+
+    void remove(IGridNode node) {
+        if (!indexedNodes.containsKey(node)) {
+            return;
+        }
+        var wasActive = indexedNodes.removeBoolean(node);
+
+        var owner = node.getOwner();
+        var machines = byExactClass.get(owner.getClass());
+        if (machines != null) {
+            machines.remove(owner, wasActive);
+        }
+        for (var assignable : getAssignableIndices(owner.getClass())) {
+            assignable.remove(owner, wasActive);
+        }
+    }
+
+    /**
+     * Updates the active views after the power, channels or booting state of a node may have changed.
+     */
+    void updateActiveState(IGridNode node) {
+        if (!indexedNodes.containsKey(node)) {
+            return;
+        }
+
+        var active = node.isActive();
+        if (indexedNodes.put(node, active) == active) {
+            return;
+        }
+
+        var owner = node.getOwner();
+        var machines = byExactClass.get(owner.getClass());
+        if (machines != null) {
+            machines.setActive(owner, active);
+        }
+        for (var assignable : getAssignableIndices(owner.getClass())) {
+            assignable.setActive(owner, active);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Set<T> getExact(Class<T> machineClass, boolean activeOnly) {
+        var machines = byExactClass.get(machineClass);
+        if (machines == null) {
+            return Collections.emptySet();
+        }
+        return (Set<T>) (activeOnly ? machines.activeView : machines.allView);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Set<T> getAssignableTo(Class<T> machineClass, Iterable<IGridNode> nodes, boolean activeOnly) {
+        var machines = byAssignableClass.get(machineClass);
+        if (machines == null) {
+            // Start tracking this class from now on
+            machines = new Machines();
+            for (var node : nodes) {
+                var owner = node.getOwner();
+                if (machineClass.isInstance(owner)) {
+                    machines.add(owner, indexedNodes.getBoolean(node));
+                }
+            }
+            byAssignableClass.put(machineClass, machines);
+            assignableByOwnerClass.clear();
+        }
+        return (Set<T>) (activeOnly ? machines.activeView : machines.allView);
+    }
+
+    private List<Machines> getAssignableIndices(Class<?> ownerClass) {
+        if (byAssignableClass.isEmpty()) {
+            return List.of();
+        }
+
+        var result = assignableByOwnerClass.get(ownerClass);
+        if (result == null) {
+            result = new ArrayList<>();
+            for (var entry : byAssignableClass.entrySet()) {
+                if (entry.getKey().isAssignableFrom(ownerClass)) {
+                    result.add(entry.getValue());
+                }
+            }
+            assignableByOwnerClass.put(ownerClass, result);
+        }
+        return result;
+    }
+
+    /**
+     * The owners of one index. Since an owner may have several nodes, the number of its (active) nodes is counted.
+     */
+    private static final class Machines {
+        private final Reference2IntOpenHashMap<Object> nodeCounts = new Reference2IntOpenHashMap<>();
+        private final Reference2IntOpenHashMap<Object> activeNodeCounts = new Reference2IntOpenHashMap<>();
+        private final Set<Object> allView = Collections.unmodifiableSet(nodeCounts.keySet());
+        private final Set<Object> activeView = Collections.unmodifiableSet(activeNodeCounts.keySet());
+
+        void add(Object owner, boolean active) {
+            nodeCounts.addTo(owner, 1);
+            if (active) {
+                activeNodeCounts.addTo(owner, 1);
+            }
+        }
+
+        void remove(Object owner, boolean wasActive) {
+            decrement(nodeCounts, owner);
+            if (wasActive) {
+                decrement(activeNodeCounts, owner);
+            }
+        }
+
+        void setActive(Object owner, boolean active) {
+            if (active) {
+                activeNodeCounts.addTo(owner, 1);
+            } else {
+                decrement(activeNodeCounts, owner);
+            }
+        }
+
+        private static void decrement(Reference2IntOpenHashMap<Object> counts, Object owner) {
+            if (counts.addTo(owner, -1) <= 1) {
+                counts.removeInt(owner);
+            }
+        }
+    }
+}
@@ -18,8 +18,12 @@
 
 package appeng.me.cells;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -45,11 +49,13 @@
 import appeng.api.storage.cells.ISaveProvider;
 import appeng.api.storage.cells.StorageCell;
 import appeng.core.AELog;
+import appeng.me.storage.IJournalingStorage;
+import appeng.me.storage.IStorageJournal;
 import appeng.util.ConfigInventory;
 import appeng.util.prioritylist.FuzzyPriorityList;
 import appeng.util.prioritylist.IPartitionList;
 
-public class BasicCellInventory implements StorageCell {
+public class BasicCellInventory implements StorageCell, IJournalingStorage {
     private static final int MAX_ITEM_TYPES = 63;
     private static final String ITEM_COUNT_TAG = "ic";
     private static final String STACK_KEYS = "keys";
@@ -66,6 +72,16 @@ public class BasicCellInventory implements StorageCell {
     private final ItemStack i;
     private final IBasicCellItem cellType;
     private boolean isPersisted = true;
+    /**
+     * The keys in the order they were last written to the item, and the list tag they were written as. As long as the
+     * same keys are stored, only the amounts have to be written again, instead of re-serializing every key.
+     */
+    @Nullable
+    private List<AEKey> persistedKeys;
+    @Nullable
+    private ListTag persistedKeyTags;
+    @Nullable
+    private IStorageJournal journal;
 
     private BasicCellInventory(IBasicCellItem cellType, ItemStack o, ISaveProvider container) {
         this.i = o;
@@ -201,26 +217,41 @@ public void persist() {
 
         long itemCount = 0;
 
-        // add new pretty stuff...
-        var amounts = new LongArrayList(storedAmounts.size());
-        var keys = new ListTag();
-
-        for (var entry : this.storedAmounts.object2LongEntrySet()) {
-            long amount = entry.getLongValue();
-
-            if (amount > 0) {
-                itemCount += amount;
-                keys.add(entry.getKey().toTagGeneric());
-                amounts.add(amount);
+        if (canPersistAmountsOnly()) {
+            var amounts = new long[this.persistedKeys.size()];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = this.storedAmounts.getLong(this.persistedKeys.get(i));
+                itemCount += amounts[i];
             }
-        }
-
-        if (keys.isEmpty()) {
-            getTag().remove(STACK_KEYS);
-            getTag().remove(STACK_AMOUNTS);
+            getTag().putLongArray(STACK_AMOUNTS, amounts);
         } else {
-            getTag().put(STACK_KEYS, keys);
-            getTag().putLongArray(STACK_AMOUNTS, amounts.toArray(new long[0]));
+            // add new pretty stuff...
+            var amounts = new LongArrayList(storedAmounts.size());
+            var keys = new ListTag();
+            var keyOrder = new ArrayList<AEKey>(storedAmounts.size());
+
+            for (var entry : this.storedAmounts.object2LongEntrySet()) {
+                long amount = entry.getLongValue();
+
+                if (amount > 0) {
+                    itemCount += amount;
+                    keys.add(entry.getKey().toTagGeneric());
+                    amounts.add(amount);
+                    keyOrder.add(entry.getKey());
+                }
+            }
+
+            if (keys.isEmpty()) {
+                getTag().remove(STACK_KEYS);
+                getTag().remove(STACK_AMOUNTS);
+                this.persistedKeys = null;
+                this.persistedKeyTags = null;
+            } else {
+                getTag().put(STACK_KEYS, keys);
+                getTag().putLongArray(STACK_AMOUNTS, amounts.toArray(new long[0]));
+                this.persistedKeys = keyOrder;
+                this.persistedKeyTags = keys;
+            }
         }
 
         this.storedItems = (short) this.storedAmounts.size();
@@ -235,13 +266,36 @@ public void persist() {
         this.isPersisted = true;
     }
 
+    /**
+     * Checks whether the item still holds the keys we last wrote, and the same keys are still stored. Only the amounts
+     * need to be written in that case.
+     */
+    private boolean canPersistAmountsOnly() {
+        if (this.persistedKeys == null || this.persistedKeyTags == null) {
+            return false;
+        }
+
+        // The tag may have been replaced by a copy, see getTag()
+        if (getTag().get(STACK_KEYS) != this.persistedKeyTags
+                || this.persistedKeys.size() != this.storedAmounts.size()) {
+            return false;
+        }
+
+        for (var key : this.persistedKeys) {
+            if (this.storedAmounts.getLong(key) <= 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Marks the cell as changed. {@link #storedItemCount} has to be kept up to date by the caller, only the number of
+     * types is taken from the stored amounts.
+     */
     protected void saveChanges() {
-        // recalculate values
         this.storedItems = (short) this.storedAmounts.size();
-        this.storedItemCount = 0;
-        for (var storedAmount : this.storedAmounts.values()) {
-            this.storedItemCount += storedAmount;
-        }
 
         this.isPersisted = false;
         if (this.container != null) {
@@ -262,6 +316,8 @@ private void loadCellItems() {
                     amounts.length, tags.size());
         }
 
+        var keyOrder = new ArrayList<AEKey>(amounts.length);
+        long itemCount = 0;
         for (int i = 0; i < amounts.length; i++) {
             var amount = amounts[i];
             AEKey key = AEKey.fromTagGeneric(tags.getCompound(i));
@@ -270,9 +326,23 @@ private void loadCellItems() {
                 corruptedTag = true;
             } else {
                 storedAmounts.put(key, amount);
+                keyOrder.add(key);
+                itemCount += amount;
             }
         }
 
+        // Trust the actual contents over the summary stored in the tag
+        this.storedItems = (short) storedAmounts.size();
+        this.storedItemCount = itemCount;
+
+        if (corruptedTag || amounts.length != tags.size() || keyOrder.size() != storedAmounts.size()) {
+            this.persistedKeys = null;
+            this.persistedKeyTags = null;
+        } else if (!keyOrder.isEmpty()) {
+            this.persistedKeys = keyOrder;
+            this.persistedKeyTags = tags;
+        }
+
         if (corruptedTag) {
             this.saveChanges();
         }
@@ -285,6 +355,18 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    @Override
+    public boolean setJournal(@Nullable IStorageJournal journal) {
+        this.journal = journal;
+        return true;
+    }
+
+    private void onStackChange(AEKey what, long delta) {
+        if (this.journal != null) {
+            this.journal.onStackChange(what, delta);
+        }
+    }
+
     @Override
     public double getIdleDrain() {
         return this.cellType.getIdleDrain();
@@ -313,6 +395,44 @@ public boolean canHoldNewItem() {
                 && this.getRemainingItemTypes() > 0;
     }
 
+    /**
+     * Checks the key type, partition and blacklist of this cell, without considering the space left in it.
+     */
+    public boolean canAccept(AEKey what) {
+        if (!keyType.contains(what)) {
+            return false;
+        }
+
+        if (!this.partitionList.isEmpty() && !this.partitionList.isListed(what)) {
+            return false;
+        }
+
+        return !this.cellType.isBlackListed(this.i, what);
+    }
+
+    /**
+     * Returns the keys this cell could still accept, if they are known without testing every possible key. This is the
+     * case if the cell is partitioned to a fixed set of keys, or if it can't hold any new types.
+     *
+     * @return null if the cell could accept keys it doesn't know about yet.
+     */
+    @Nullable
+    public List<AEKey> getAcceptableKeys() {
+        if (this.getRemainingItemCount() <= 0) {
+            return List.of();
+        }
+
+        if (!this.canHoldNewItem()) {
+            return new ArrayList<>(this.getCellItems().keySet());
+        }
+
+        if (this.partitionListMode == IncludeExclude.WHITELIST && !this.partitionList.isEmpty() && !this.isFuzzy()) {
+            return new ArrayList<>(this.getConfigInventory().keySet());
+        }
+
+        return null;
+    }
+
     public long getTotalBytes() {
         return this.cellType.getBytes(this.i);
     }
@@ -375,15 +495,13 @@ public CellState getStatus() {
 
     @Override
     public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
-        if (amount == 0 || !keyType.contains(what)) {
-            return 0;
-        }
-
-        if (!this.partitionList.isEmpty() && !this.partitionList.isListed(what)) {
+        if (amount == 0 || !canAccept(what)) {
             return 0;
         }
 
-        if (this.cellType.isBlackListed(this.i, what)) {
+        // A full cell can't accept anything, no matter whether the key is already stored. This avoids loading
+        // the contents of full cells.
+        if (this.getRemainingItemCount() <= 0) {
             return 0;
         }
 
@@ -421,7 +539,9 @@ public long insert(AEKey what, long amount, Actionable mode, IActionSource sourc
 
         if (mode == Actionable.MODULATE) {
             getCellItems().put(what, currentAmount + amount);
+            this.storedItemCount += amount;
             this.saveChanges();
+            this.onStackChange(what, amount);
         }
 
         return amount;
@@ -437,14 +557,18 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             if (extractAmount >= currentAmount) {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().remove(what, currentAmount);
+                    this.storedItemCount -= currentAmount;
                     this.saveChanges();
+                    this.onStackChange(what, -currentAmount);
                 }
 
                 return currentAmount;
             } else {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().put(what, currentAmount - extractAmount);
+                    this.storedItemCount -= extractAmount;
                     this.saveChanges();
+                    this.onStackChange(what, -extractAmount);
                 }
 
                 return extractAmount;
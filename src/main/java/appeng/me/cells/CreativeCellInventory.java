@@ -21,6 +21,8 @@
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 
@@ -31,8 +33,10 @@
 import appeng.api.storage.cells.CellState;
 import appeng.api.storage.cells.StorageCell;
 import appeng.items.contents.CellConfig;
+import appeng.me.storage.IJournalingStorage;
+import appeng.me.storage.IStorageJournal;
 
-class CreativeCellInventory implements StorageCell {
+class CreativeCellInventory implements StorageCell, IJournalingStorage {
     private final Set<AEKey> configured;
     private final ItemStack stack;
 
@@ -61,6 +65,14 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    /**
+     * The available stacks of a creative cell never change, so there is nothing to report.
+     */
+    @Override
+    public boolean setJournal(@Nullable IStorageJournal journal) {
+        return true;
+    }
+
     @Override
     public boolean isPreferredStorageFor(AEKey input, IActionSource source) {
         return this.configured.contains(input);
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.helpers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * A feed of the keys whose amount in a grid's cached inventory changed. It is published once per tick by the storage
+ * service and can be consumed by any number of readers (i.e. open terminals), which only need to remember the last
+ * version they've seen. This allows all readers of a grid to share the diff that is computed once per tick, instead of
+ * each comparing its own snapshot of the full inventory.
+ * <p>
+ * The crafting service uses the same kind of feed for the keys that became craftable or stopped being craftable.
+ */
+public final class StorageChangeFeed {
+    /**
+     * The number of published change sets that are retained. Readers that fall further behind have to fully resync.
+     */
+    private static final int MAX_RETAINED = 40;
+
+    private final Deque<ChangeSet> changeSets = new ArrayDeque<>();
+
+    private long version;
+
+    /**
+     * @return The current version of the feed. It only increases when a non-empty set of changes is published.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Publishes a set of changed keys as a new version of this feed.
+     */
+    public void publish(List<AEKey> changedKeys) {
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+
+        changeSets.addLast(new ChangeSet(++version, changedKeys));
+        while (changeSets.size() > MAX_RETAINED) {
+            changeSets.removeFirst();
+        }
+    }
+
+    /**
+     * Passes all keys that changed after the given version to the consumer. Keys may be passed more than once if they
+     * changed in several versions.
+     *
+     * @return False if the changes since the given version are no longer retained, in which case nothing is passed to
+     *         the consumer and the reader has to do a full resync.
+     */
+    public boolean getChangesSince(long sinceVersion, Consumer<AEKey> consumer) {
+        if (sinceVersion >= version) {
+            return true;
+        }
+
+        var oldest = changeSets.peekFirst();
+        if (oldest == null || oldest.version() > sinceVersion + 1) {
+            return false;
+        }
+
+        for (var changeSet : changeSets) {
+            if (changeSet.version() > sinceVersion) {
+                changeSet.keys().forEach(consumer);
+            }
+        }
+        return true;
+    }
+
+    private record ChangeSet(long version, List<AEKey> keys) {
+    }
+}
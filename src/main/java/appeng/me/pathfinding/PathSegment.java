@@ -25,6 +25,8 @@
 import appeng.api.networking.GridFlags;
 import appeng.api.networking.IGridMultiblock;
 import appeng.api.networking.IGridNode;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.GridConnection;
 import appeng.me.service.PathingService;
 
 public class PathSegment {
@@ -32,6 +34,7 @@ public class PathSegment {
     private final PathingService pgc;
     private final Set<IPathItem> semiOpen;
     private final Set<IPathItem> closed;
+    private final List<IPathItem> route = new ArrayList<>();
     private boolean isDead;
     private List<IPathItem> open;
 
@@ -56,13 +59,8 @@ public boolean step() {
                     if (pi.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
                         // close the semi open.
                         if (!this.semiOpen.contains(pi)) {
-                            final boolean worked;
-
-                            if (pi.hasFlag(GridFlags.COMPRESSED_CHANNEL)) {
-                                worked = this.useDenseChannel(pi);
-                            } else {
-                                worked = this.useChannel(pi);
-                            }
+                            final boolean worked = useChannel(this.pgc, pi,
+                                    pi.hasFlag(GridFlags.COMPRESSED_CHANNEL), this.route);
 
                             if (worked && pi.hasFlag(GridFlags.MULTIBLOCK)) {
                                 var multiblock = ((IGridNode) pi).getService(IGridMultiblock.class);
@@ -91,46 +89,45 @@ public boolean step() {
         return this.open.isEmpty();
     }
 
-    private boolean useDenseChannel(final IPathItem start) {
-        IPathItem pi = start;
-        while (pi != null) {
-            if (!pi.canSupportMoreChannels() || pi.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED)) {
+    /**
+     * Uses a channel for the given device on every path item along its route to the controller, if all of them can
+     * support one more channel. The route is only walked once, and remembered in the given list.
+     *
+     * @param dense If the device requires a dense channel, which can't be carried by some path items.
+     * @param route Receives the path items the channel was used on.
+     * @return False if the device can't get a channel, or its route doesn't lead to a controller.
+     */
+    public static boolean useChannel(PathingService pgc, IPathItem start, boolean dense, List<IPathItem> route) {
+        route.clear();
+        for (var pi = start; pi != null; pi = pi.getControllerRoute()) {
+            if (!pi.canSupportMoreChannels() || dense && pi.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED)) {
                 return false;
             }
+            route.add(pi);
+        }
 
-            pi = pi.getControllerRoute();
+        if (!endsAtController(route.get(route.size() - 1))) {
+            return false;
         }
 
-        pi = start;
-        while (pi != null) {
-            this.pgc.setChannelsByBlocks(this.pgc.getChannelsByBlocks() + 1);
+        for (var pi : route) {
             pi.incrementChannelCount(1);
-            pi = pi.getControllerRoute();
         }
 
-        this.pgc.setChannelsInUse(this.pgc.getChannelsInUse() + 1);
+        pgc.setChannelsByBlocks(pgc.getChannelsByBlocks() + route.size());
+        pgc.setChannelsInUse(pgc.getChannelsInUse() + 1);
         return true;
     }
 
-    private boolean useChannel(final IPathItem start) {
-        IPathItem pi = start;
-        while (pi != null) {
-            if (!pi.canSupportMoreChannels()) {
-                return false;
-            }
-
-            pi = pi.getControllerRoute();
-        }
-
-        pi = start;
-        while (pi != null) {
-            this.pgc.setChannelsByBlocks(this.pgc.getChannelsByBlocks() + 1);
-            pi.incrementChannelCount(1);
-            pi = pi.getControllerRoute();
-        }
-
-        this.pgc.setChannelsInUse(this.pgc.getChannelsInUse() + 1);
-        return true;
+    /**
+     * Routes end at the connections to a controller, but also at path items that can't carry channels, such as quartz
+     * fibers. Only the former actually lead to a controller.
+     *
+     * @param last The last path item on a route.
+     */
+    public static boolean endsAtController(IPathItem last) {
+        Object node = last instanceof GridConnection connection ? connection.a() : last;
+        return node instanceof IGridNode gridNode && gridNode.getOwner() instanceof ControllerBlockEntity;
     }
 
     public boolean isDead() {
@@ -26,9 +26,12 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -55,9 +58,12 @@
 import appeng.api.storage.AEKeyFilter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
 import appeng.blockentity.crafting.CraftingStorageBlockEntity;
+import appeng.core.AEConfig;
 import appeng.crafting.CraftingCalculation;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.CraftingPatternIndex;
+import appeng.helpers.iface.DualityPatternProvider;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
@@ -66,6 +72,13 @@
 
 public class CraftingService implements ICraftingService, IGridServiceProvider {
 
+    /**
+     * Upper bound for the number of crafting calculations that run at the same time. Further calculations are queued
+     * until a thread becomes available.
+     */
+    private static final int MAX_CALCULATION_THREADS = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
     private static final ExecutorService CRAFTING_POOL;
 
     static {
@@ -75,7 +88,10 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
             return crafting;
         };
 
-        CRAFTING_POOL = Executors.newCachedThreadPool(factory);
+        var pool = new ThreadPoolExecutor(MAX_CALCULATION_THREADS, MAX_CALCULATION_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        CRAFTING_POOL = pool;
 
         GridHelper.addGridServiceEventHandler(GridCraftingCpuChange.class, ICraftingService.class,
                 (service, event) -> {
@@ -93,6 +109,7 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
             this.interests);
     private final IEnergyService energyGrid;
     private final Set<AEKey> currentlyCrafting = new HashSet<>();
+    private final Set<Consumer<DualityPatternProvider>> patternProviderListeners = new HashSet<>();
     private boolean updateList = false;
 
     public CraftingService(IGrid grid, IStorageService storageGrid, IEnergyService energyGrid) {
@@ -104,6 +121,8 @@ public CraftingService(IGrid grid, IStorageService storageGrid, IEnergyService e
 
     @Override
     public void onServerEndTick() {
+        this.craftingProviders.applyPendingRefreshes();
+
         if (this.updateList) {
             this.updateList = false;
             this.updateCPUClusters();
@@ -191,6 +210,16 @@ public Set<AEKey> getCraftables(AEKeyFilter filter) {
         return craftingProviders.getCraftables(filter);
     }
 
+    @Override
+    public long getCraftablesVersion() {
+        return craftingProviders.getCraftablesVersion();
+    }
+
+    @Override
+    public boolean getCraftablesChangesSince(long version, Consumer<AEKey> consumer) {
+        return craftingProviders.getCraftablesChangesSince(version, consumer);
+    }
+
     private void updateCPUClusters() {
         this.craftingCPUClusters.clear();
 
@@ -237,8 +266,7 @@ public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
 
     @Override
     public void refreshNodeCraftingProvider(IGridNode node) {
-        this.craftingProviders.removeProvider(node);
-        this.craftingProviders.addProvider(node);
+        this.craftingProviders.refreshProvider(node);
     }
 
     @Nullable
@@ -247,6 +275,10 @@ public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
         return this.craftingProviders.getFuzzyCraftable(whatToCraft, filter);
     }
 
+    public CraftingPatternIndex getPatternIndex() {
+        return this.craftingProviders.getPatternIndex();
+    }
+
     @Override
     public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimulationRequester simRequester,
             AEKey what, long amount) {
@@ -255,7 +287,7 @@ public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimu
         }
 
         final CraftingCalculation job = new CraftingCalculation(level, grid, simRequester,
-                new GenericStack(what, amount));
+                new GenericStack(what, amount), AEConfig.instance().isCraftingCalculationAsync());
 
         return CRAFTING_POOL.submit(job::run);
     }
@@ -353,4 +385,27 @@ public Iterable<ICraftingProvider> getProviders(IPatternDetails key) {
     public boolean hasCpu(final ICraftingCPU cpu) {
         return this.craftingCPUClusters.contains(cpu);
     }
+
+    /**
+     * Register a listener that will receive the pattern providers of this grid that changed, joined or left the grid.
+     * This is only used by the pattern access terminal. Make sure to remove it by calling
+     * {@link #removePatternProviderListener}.
+     */
+    public void addPatternProviderListener(Consumer<DualityPatternProvider> listener) {
+        this.patternProviderListeners.add(listener);
+    }
+
+    public void removePatternProviderListener(Consumer<DualityPatternProvider> listener) {
+        this.patternProviderListeners.remove(listener);
+    }
+
+    /**
+     * Called by pattern providers when their patterns, name or visibility changed, or when they joined or left this
+     * grid.
+     */
+    public void onPatternProviderChanged(DualityPatternProvider provider) {
+        for (var listener : this.patternProviderListeners) {
+            listener.accept(provider);
+        }
+    }
 }
@@ -18,17 +18,19 @@
 
 package appeng.me.service;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NavigableSet;
 import java.util.PriorityQueue;
 import java.util.Queue;
-import java.util.Set;
 import java.util.SortedSet;
 
+import javax.annotation.Nullable;
+
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Multiset;
@@ -59,6 +61,7 @@
 import appeng.me.GridNode;
 import appeng.me.energy.EnergyThreshold;
 import appeng.me.energy.EnergyWatcher;
+import appeng.me.service.helpers.EnergyProviderGraph;
 
 public class EnergyService implements IEnergyService, IEnergyGridProvider, IGridServiceProvider {
 
@@ -87,6 +90,12 @@ public class EnergyService implements IEnergyService, IEnergyGridProvider, IGrid
         return Double.compare(percent1, percent2);
     };
 
+    private static final Comparator<EnergyProviderGraph.Node> NODE_HIGHEST_AMOUNT_STORED_FIRST = Comparator
+            .comparing(EnergyProviderGraph.Node::getProvider, COMPARATOR_HIGHEST_AMOUNT_STORED_FIRST);
+
+    private static final Comparator<EnergyProviderGraph.Node> NODE_LOWEST_PERCENTAGE_FIRST = Comparator
+            .comparing(EnergyProviderGraph.Node::getProvider, COMPARATOR_LOWEST_PERCENTAGE_FIRST);
+
     private static final Comparator<IAEPowerStorage> COMPARATOR_HIGHEST_PRIORITY_FIRST = (o1, o2) -> {
         final int cmp = Integer.compare(o2.getPriority(), o1.getPriority());
         return cmp != 0 ? cmp : Integer.compare(System.identityHashCode(o2), System.identityHashCode(o1));
@@ -115,6 +124,28 @@ public class EnergyService implements IEnergyService, IEnergyGridProvider, IGrid
     private boolean ongoingInjectOperation = false;
 
     private final Multiset<IEnergyGridProvider> energyGridProviders = HashMultiset.create();
+
+    /**
+     * Incremented whenever {@link #energyGridProviders} changes, which invalidates the {@link EnergyProviderGraph
+     * provider graphs} of all grids connected to this one.
+     */
+    private long energyGridProvidersVersion = 0;
+    /**
+     * The providers of other grids reachable from this grid. Rebuilt when the providers of any grid in it changed.
+     */
+    @Nullable
+    private EnergyProviderGraph providerGraph;
+
+    /**
+     * Reused when walking the provider graph, so that extracting or injecting power doesn't allocate. The providers are
+     * visited best-first, in the order they are discovered. Nested walks, i.e. when a provider calls back into this
+     * grid, use new collections instead.
+     */
+    private final Queue<EnergyProviderGraph.Node> extractQueue = new PriorityQueue<>(
+            NODE_HIGHEST_AMOUNT_STORED_FIRST);
+    private final Queue<EnergyProviderGraph.Node> injectQueue = new PriorityQueue<>(NODE_LOWEST_PERCENTAGE_FIRST);
+    private final BitSet visitedProviders = new BitSet();
+    private boolean walkingProviders = false;
     private final Grid grid;
     private final HashMap<IGridNode, IEnergyWatcher> watchers = new HashMap<>();
 
@@ -243,28 +274,62 @@ public void onServerEndTick() {
     @Override
     public double extractAEPower(final double amt, final Actionable mode, final PowerMultiplier pm) {
         final double toExtract = pm.multiply(amt);
-        final Queue<IEnergyGridProvider> toVisit = new PriorityQueue<>(COMPARATOR_HIGHEST_AMOUNT_STORED_FIRST);
-        final Set<IEnergyGridProvider> visited = new HashSet<>();
 
-        double extracted = 0;
-        toVisit.add(this);
+        // Only walk the providers of other grids if this grid can't satisfy the request on its own
+        double extracted = this.extractProviderPower(toExtract, mode);
+        if (extracted >= toExtract || this.energyGridProviders.isEmpty()) {
+            return pm.divide(extracted);
+        }
 
-        while (!toVisit.isEmpty() && extracted < toExtract) {
-            final IEnergyGridProvider next = toVisit.poll();
-            visited.add(next);
+        final var graph = this.getProviderGraph();
+        final boolean nested = this.walkingProviders;
+        final Queue<EnergyProviderGraph.Node> toVisit = nested
+                ? new PriorityQueue<>(NODE_HIGHEST_AMOUNT_STORED_FIRST)
+                : this.extractQueue;
+        final BitSet visited = nested ? new BitSet() : this.visitedProviders;
+        this.walkingProviders = true;
+        try {
+            visited.set(graph.getRoot().getIndex());
+            Collections.addAll(toVisit, graph.getRoot().getNeighbours());
 
-            extracted += next.extractProviderPower(toExtract - extracted, mode);
+            while (!toVisit.isEmpty() && extracted < toExtract) {
+                final var next = toVisit.poll();
+                if (visited.get(next.getIndex())) {
+                    continue;
+                }
+                visited.set(next.getIndex());
 
-            for (IEnergyGridProvider iEnergyGridProvider : next.providers()) {
-                if (!visited.contains(iEnergyGridProvider)) {
-                    toVisit.add(iEnergyGridProvider);
+                extracted += next.getProvider().extractProviderPower(toExtract - extracted, mode);
+
+                for (var neighbour : next.getNeighbours()) {
+                    if (!visited.get(neighbour.getIndex())) {
+                        toVisit.add(neighbour);
+                    }
                 }
             }
+        } finally {
+            toVisit.clear();
+            visited.clear();
+            this.walkingProviders = nested;
         }
 
         return pm.divide(extracted);
     }
 
+    private EnergyProviderGraph getProviderGraph() {
+        if (this.providerGraph == null || !this.providerGraph.isCurrent()) {
+            this.providerGraph = EnergyProviderGraph.build(this);
+        }
+        return this.providerGraph;
+    }
+
+    /**
+     * @return A number that changes whenever a node providing an {@link IEnergyGridProvider} joins or leaves this grid.
+     */
+    public long getEnergyGridProvidersVersion() {
+        return this.energyGridProvidersVersion;
+    }
+
     @Override
     public double getIdlePowerUsage() {
         return this.drainPerTick + this.pgc.getChannelPowerUsage();
@@ -396,23 +461,42 @@ public boolean isNetworkPowered() {
 
     @Override
     public double injectPower(final double amt, final Actionable mode) {
-        final Queue<IEnergyGridProvider> toVisit = new PriorityQueue<>(COMPARATOR_LOWEST_PERCENTAGE_FIRST);
-        final Set<IEnergyGridProvider> visited = new HashSet<>();
-        toVisit.add(this);
+        // Only walk the providers of other grids if this grid can't take all of it on its own
+        double leftover = this.injectProviderPower(amt, mode);
+        if (leftover <= 0 || this.energyGridProviders.isEmpty()) {
+            return leftover;
+        }
 
-        double leftover = amt;
+        final var graph = this.getProviderGraph();
+        final boolean nested = this.walkingProviders;
+        final Queue<EnergyProviderGraph.Node> toVisit = nested
+                ? new PriorityQueue<>(NODE_LOWEST_PERCENTAGE_FIRST)
+                : this.injectQueue;
+        final BitSet visited = nested ? new BitSet() : this.visitedProviders;
+        this.walkingProviders = true;
+        try {
+            visited.set(graph.getRoot().getIndex());
+            Collections.addAll(toVisit, graph.getRoot().getNeighbours());
 
-        while (!toVisit.isEmpty() && leftover > 0) {
-            final IEnergyGridProvider next = toVisit.poll();
-            visited.add(next);
+            while (!toVisit.isEmpty() && leftover > 0) {
+                final var next = toVisit.poll();
+                if (visited.get(next.getIndex())) {
+                    continue;
+                }
+                visited.set(next.getIndex());
 
-            leftover = next.injectProviderPower(leftover, mode);
+                leftover = next.getProvider().injectProviderPower(leftover, mode);
 
-            for (IEnergyGridProvider iEnergyGridProvider : next.providers()) {
-                if (!visited.contains(iEnergyGridProvider)) {
-                    toVisit.add(iEnergyGridProvider);
+                for (var neighbour : next.getNeighbours()) {
+                    if (!visited.get(neighbour.getIndex())) {
+                        toVisit.add(neighbour);
+                    }
                 }
             }
+        } finally {
+            toVisit.clear();
+            visited.clear();
+            this.walkingProviders = nested;
         }
 
         return leftover;
@@ -434,23 +518,42 @@ public double getMaxStoredPower() {
 
     @Override
     public double getEnergyDemand(final double maxRequired) {
-        final Queue<IEnergyGridProvider> toVisit = new PriorityQueue<>(COMPARATOR_LOWEST_PERCENTAGE_FIRST);
-        final Set<IEnergyGridProvider> visited = new HashSet<>();
-        toVisit.add(this);
+        // Only walk the providers of other grids if this grid's demand doesn't already reach the limit
+        double required = this.getProviderEnergyDemand(maxRequired);
+        if (required >= maxRequired || this.energyGridProviders.isEmpty()) {
+            return required;
+        }
 
-        double required = 0;
+        final var graph = this.getProviderGraph();
+        final boolean nested = this.walkingProviders;
+        final Queue<EnergyProviderGraph.Node> toVisit = nested
+                ? new PriorityQueue<>(NODE_LOWEST_PERCENTAGE_FIRST)
+                : this.injectQueue;
+        final BitSet visited = nested ? new BitSet() : this.visitedProviders;
+        this.walkingProviders = true;
+        try {
+            visited.set(graph.getRoot().getIndex());
+            Collections.addAll(toVisit, graph.getRoot().getNeighbours());
 
-        while (!toVisit.isEmpty() && required < maxRequired) {
-            final IEnergyGridProvider next = toVisit.poll();
-            visited.add(next);
+            while (!toVisit.isEmpty() && required < maxRequired) {
+                final var next = toVisit.poll();
+                if (visited.get(next.getIndex())) {
+                    continue;
+                }
+                visited.set(next.getIndex());
 
-            required += next.getProviderEnergyDemand(maxRequired - required);
+                required += next.getProvider().getProviderEnergyDemand(maxRequired - required);
 
-            for (IEnergyGridProvider iEnergyGridProvider : next.providers()) {
-                if (!visited.contains(iEnergyGridProvider)) {
-                    toVisit.add(iEnergyGridProvider);
+                for (var neighbour : next.getNeighbours()) {
+                    if (!visited.get(neighbour.getIndex())) {
+                        toVisit.add(neighbour);
+                    }
                 }
             }
+        } finally {
+            toVisit.clear();
+            visited.clear();
+            this.walkingProviders = nested;
         }
 
         return required;
@@ -471,6 +574,7 @@ public void removeNode(final IGridNode node) {
         var gridProvider = node.getService(IEnergyGridProvider.class);
         if (gridProvider != null) {
             this.energyGridProviders.remove(gridProvider);
+            this.energyGridProvidersVersion++;
         }
 
         // idle draw.
@@ -526,6 +630,7 @@ public void addNode(final IGridNode node) {
         var gridProvider = node.getService(IEnergyGridProvider.class);
         if (gridProvider != null) {
             this.energyGridProviders.add(gridProvider);
+            this.energyGridProvidersVersion++;
         }
 
         // idle draw...
@@ -20,6 +20,8 @@
 
 import java.util.*;
 
+import javax.annotation.Nullable;
+
 import appeng.api.features.IPlayerRegistry;
 import appeng.api.networking.*;
 import appeng.api.networking.events.GridBootingStatusChange;
@@ -58,6 +60,26 @@ public class PathingService implements IPathingService, IGridServiceProvider {
     // Flag to indicate a reboot should occur next tick
     private boolean reboot = true;
     private boolean booting = false;
+    /**
+     * True while channels are being assigned, regardless of whether the grid is booting.
+     */
+    private boolean recalculating = false;
+    /**
+     * The controller state the current channel assignment was completed for, or null if channels have never been fully
+     * assigned. As long as the state doesn't change, channels are reassigned without booting the grid again.
+     */
+    @Nullable
+    private ControllerState calculatedState = null;
+    /**
+     * Nodes that joined the grid since the last tick, which may be attached to the existing channel assignment without
+     * recalculating it.
+     */
+    private final Set<GridNode> pendingAttachments = new LinkedHashSet<>();
+    /**
+     * The routes that existing nodes had before nodes that joined the grid were connected to them. Adding a connection
+     * re-sorts the connections of a node, which may change its route.
+     */
+    private final Map<GridNode, IPathItem> neighbourRoutes = new HashMap<>();
     private ControllerState controllerState = ControllerState.NO_CONTROLLER;
     private int ticksUntilReady = 0;
     private int lastChannels = 0;
@@ -75,55 +97,18 @@ public void onServerEndTick() {
 
         if (this.reboot) {
             this.reboot = false;
-
-            if (!this.booting) {
-                this.booting = true;
-                this.postBootingStatusChange();
-            }
-
-            this.setChannelsInUse(0);
-
-            if (this.controllerState == ControllerState.NO_CONTROLLER) {
-                final int requiredChannels = this.calculateRequiredChannels();
-                int used = requiredChannels;
-                if (requiredChannels > 8) {
-                    used = 0;
-                }
-
-                final int nodes = this.grid.size();
-                this.setChannelsInUse(used);
-
-                this.ticksUntilReady = 20 + Math.max(0, nodes / 100 - 20);
-                this.setChannelsByBlocks(nodes * used);
-                this.setChannelPowerUsage(this.getChannelsByBlocks() / 128.0);
-
-                this.grid.getPivot().beginVisit(new AdHocChannelUpdater(used));
-            } else if (this.controllerState == ControllerState.CONTROLLER_CONFLICT) {
-                this.ticksUntilReady = 20;
-                this.grid.getPivot().beginVisit(new AdHocChannelUpdater(0));
-            } else {
-                var nodes = this.grid.size();
-                this.ticksUntilReady = 20 + Math.max(0, nodes / 100 - 20);
-                var closedList = new HashSet<IPathItem>();
-                this.semiOpen = new HashSet<>();
-
-                for (var node : this.grid.getMachineNodes(ControllerBlockEntity.class)) {
-                    closedList.add((IPathItem) node);
-                    for (var gcc : node.getConnections()) {
-                        var gc = (GridConnection) gcc;
-                        if (!(gc.getOtherSide(node).getOwner() instanceof ControllerBlockEntity)) {
-                            var open = new ArrayList<IPathItem>();
-                            closedList.add(gc);
-                            open.add(gc);
-                            gc.setControllerRoute((GridNode) node, true);
-                            this.active.add(new PathSegment(this, open, this.semiOpen, closedList));
-                        }
-                    }
-                }
+            this.pendingAttachments.clear();
+            this.neighbourRoutes.clear();
+            this.startRecalculation();
+        } else if (!this.pendingAttachments.isEmpty()) {
+            if (!this.attachPendingNodes()) {
+                this.startRecalculation();
             }
+            this.pendingAttachments.clear();
+            this.neighbourRoutes.clear();
         }
 
-        if (this.booting) {
+        if (this.recalculating) {
             // Work on remaining pathfinding work
             var i = this.active.iterator();
             while (i.hasNext()) {
@@ -149,15 +134,147 @@ public void onServerEndTick() {
                 // check for achievements
                 this.achievementPost();
 
-                this.booting = false;
+                this.recalculating = false;
+                this.calculatedState = this.controllerState;
                 this.setChannelPowerUsage(this.getChannelsByBlocks() / 128.0);
-                this.postBootingStatusChange();
+                if (this.booting) {
+                    this.booting = false;
+                    this.postBootingStatusChange();
+                }
             } else if (ticksUntilReady == -2000) {
                 AELog.warn("Booting has still not completed after 2000 ticks for %s", grid);
             }
         }
     }
 
+    /**
+     * Starts assigning channels for the whole grid. If channels were already assigned for the current controller state,
+     * devices keep their channels while they are reassigned, and only devices whose channels changed are notified once
+     * the assignment is complete. Otherwise the grid boots, which takes all devices offline.
+     */
+    private void startRecalculation() {
+        var silent = this.calculatedState == this.controllerState
+                && this.controllerState != ControllerState.CONTROLLER_CONFLICT;
+
+        this.active.clear();
+        this.setChannelsByBlocks(0);
+        this.recalculating = true;
+        if (!silent && !this.booting) {
+            this.booting = true;
+            this.postBootingStatusChange();
+        }
+
+        this.setChannelsInUse(0);
+
+        if (this.controllerState == ControllerState.NO_CONTROLLER) {
+            final int requiredChannels = this.calculateRequiredChannels();
+            int used = requiredChannels;
+            if (requiredChannels > 8) {
+                used = 0;
+            }
+
+            final int nodes = this.grid.size();
+            this.setChannelsInUse(used);
+
+            this.ticksUntilReady = silent ? 0 : 20 + Math.max(0, nodes / 100 - 20);
+            this.setChannelsByBlocks(nodes * used);
+            this.setChannelPowerUsage(this.getChannelsByBlocks() / 128.0);
+
+            this.grid.getPivot().beginVisit(new AdHocChannelUpdater(used));
+        } else if (this.controllerState == ControllerState.CONTROLLER_CONFLICT) {
+            this.ticksUntilReady = 20;
+            this.grid.getPivot().beginVisit(new AdHocChannelUpdater(0));
+        } else {
+            var nodes = this.grid.size();
+            this.ticksUntilReady = silent ? 0 : 20 + Math.max(0, nodes / 100 - 20);
+            var closedList = new HashSet<IPathItem>();
+            this.semiOpen = new HashSet<>();
+
+            for (var node : this.grid.getMachineNodes(ControllerBlockEntity.class)) {
+                closedList.add((IPathItem) node);
+                for (var gcc : node.getConnections()) {
+                    var gc = (GridConnection) gcc;
+                    if (!(gc.getOtherSide(node).getOwner() instanceof ControllerBlockEntity)) {
+                        var open = new ArrayList<IPathItem>();
+                        closedList.add(gc);
+                        open.add(gc);
+                        gc.setControllerRoute((GridNode) node, true);
+                        this.active.add(new PathSegment(this, open, this.semiOpen, closedList));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives the nodes that joined the grid a route to the controller, and a channel if they need one, without
+     * reassigning the channels of all other devices. This is only possible for devices that are attached to the grid by
+     * a single connection, since no other device can be routed through them, and only as long as the route of the node
+     * they are connected to still leads to a controller.
+     *
+     * @return False if the channels of the whole grid have to be recalculated instead.
+     */
+    private boolean attachPendingNodes() {
+        if (this.recalculating || this.controllerState != ControllerState.CONTROLLER_ONLINE
+                || this.calculatedState != ControllerState.CONTROLLER_ONLINE) {
+            return false;
+        }
+
+        // Check all nodes before changing anything, so that we can still fall back to a full recalculation
+        for (var node : this.pendingAttachments) {
+            if (node.getInternalGrid() != this.grid
+                    || node.getOwner() instanceof ControllerBlockEntity
+                    || node.hasFlag(GridFlags.MULTIBLOCK)) {
+                return false;
+            }
+            var connections = node.getConnections();
+            if (connections.size() != 1) {
+                return false;
+            }
+            var neighbour = (GridNode) connections.get(0).getOtherSide(node);
+            if (this.pendingAttachments.contains(neighbour)
+                    || !this.neighbourRoutes.containsKey(neighbour)
+                    || this.neighbourRoutes.get(neighbour) != neighbour.getControllerRoute()
+                    || !hasRouteToController(neighbour)) {
+                return false;
+            }
+        }
+
+        var route = new ArrayList<IPathItem>();
+        for (var node : this.pendingAttachments) {
+            var connection = (GridConnection) node.getConnections().get(0);
+            connection.setControllerRoute((GridNode) connection.getOtherSide(node), true);
+            node.setControllerRoute(connection, true);
+
+            if (node.hasFlag(GridFlags.REQUIRE_CHANNEL)
+                    && PathSegment.useChannel(this, node, node.hasFlag(GridFlags.COMPRESSED_CHANNEL), route)) {
+                // Only the channel counts along the route of the new device have changed
+                for (var pi : route) {
+                    pi.finalizeChannels();
+                }
+            }
+        }
+
+        this.achievementPost();
+        this.setChannelPowerUsage(this.getChannelsByBlocks() / 128.0);
+        return true;
+    }
+
+    /**
+     * Checks that following the route of the given path item leads to a controller without running in circles.
+     */
+    private static boolean hasRouteToController(IPathItem start) {
+        var visited = new HashSet<IPathItem>();
+        IPathItem last = null;
+        for (var pi = start; pi != null; pi = pi.getControllerRoute()) {
+            if (!visited.add(pi)) {
+                return false;
+            }
+            last = pi;
+        }
+        return PathSegment.endsAtController(last);
+    }
+
     private void postBootingStatusChange() {
         this.grid.postEvent(new GridBootingStatusChange());
         this.grid.notifyAllNodes(IGridNodeListener.State.GRID_BOOT);
@@ -178,6 +295,7 @@ public void removeNode(final IGridNode gridNode) {
             this.blockDense.remove(gridNode);
         }
 
+        this.pendingAttachments.remove(gridNode);
         this.repath();
     }
 
@@ -196,7 +314,8 @@ public void addNode(final IGridNode gridNode) {
             this.blockDense.add(gridNode);
         }
 
-        this.repath();
+        // Wait for the node's connections before deciding whether all channels have to be reassigned
+        this.pendingAttachments.add((GridNode) gridNode);
     }
 
     private void updateControllerState() {
@@ -295,13 +414,25 @@ public ControllerState getControllerState() {
 
     @Override
     public void repath() {
-        // clean up...
-        this.active.clear();
-
-        this.setChannelsByBlocks(0);
         this.reboot = true;
     }
 
+    /**
+     * Called when a connection was created in this grid. Connections of nodes that just joined the grid are checked
+     * when they are attached, all others change the routes of existing devices.
+     */
+    public void onConnectionCreated(GridConnection connection) {
+        var pendingA = this.pendingAttachments.contains(connection.a());
+        var pendingB = this.pendingAttachments.contains(connection.b());
+        if (!pendingA && !pendingB) {
+            this.repath();
+        } else if (pendingA != pendingB) {
+            // This is called before the connection is added to the nodes, so the existing node still has its old route
+            var neighbour = (GridNode) (pendingA ? connection.b() : connection.a());
+            this.neighbourRoutes.putIfAbsent(neighbour, neighbour.getControllerRoute());
+        }
+    }
+
     double getChannelPowerUsage() {
         return this.channelPowerUsage;
     }
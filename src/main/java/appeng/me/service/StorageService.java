@@ -19,15 +19,18 @@
 package appeng.me.service;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridServiceProvider;
@@ -35,12 +38,16 @@
 import appeng.api.networking.storage.IStorageService;
 import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.IStorageMounts;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
 import appeng.me.helpers.InterestManager;
 import appeng.me.helpers.StackWatcher;
+import appeng.me.helpers.StorageChangeFeed;
+import appeng.me.storage.IJournalingStorage;
+import appeng.me.storage.IStorageJournal;
 import appeng.me.storage.NetworkStorage;
 
 public class StorageService implements IStorageService, IGridServiceProvider {
@@ -58,7 +65,31 @@ public class StorageService implements IStorageService, IGridServiceProvider {
             this.interests);
     private final NetworkStorage storage;
     private final KeyCounter cachedAvailableStacks = new KeyCounter(); // publicly exposed cached stacks.
-    private KeyCounter lastTickStacks = new KeyCounter(); // private cache, to make sure it's never modified.
+    /**
+     * Net changes to the network inventory that will be applied to {@link #cachedAvailableStacks} at the end of the
+     * tick.
+     */
+    private KeyCounter pendingChanges = new KeyCounter();
+    /**
+     * Running total of {@link #cachedAvailableStacks} per key type, so it doesn't have to be summed up on demand.
+     */
+    private final Object2LongOpenHashMap<AEKeyType> storedAmounts = new Object2LongOpenHashMap<>();
+    /**
+     * Publishes the keys that changed in {@link #cachedAvailableStacks} to terminals.
+     */
+    private final StorageChangeFeed changeFeed = new StorageChangeFeed();
+    /**
+     * Read-only copy of {@link #cachedAvailableStacks} as of the end of the last tick, for readers on other threads.
+     */
+    private volatile KeyCounter inventorySnapshot = new KeyCounter();
+    /**
+     * Mounted inventories that can't report their changes and have to be polled every tick.
+     */
+    private final Set<MountedInventory> polledInventories = Sets.newIdentityHashSet();
+    /**
+     * Mounted inventories that requested their content to be fully re-queried.
+     */
+    private final List<MountedInventory> invalidatedInventories = new ArrayList<>();
     /**
      * Tracks the stack watcher associated with a given grid node. Needed to clean up watchers when the node leaves the
      * grid.
@@ -71,17 +102,40 @@ public StorageService(ISecurityService security) {
 
     @Override
     public void onServerEndTick() {
+        // Re-query the inventories that can't report their changes incrementally
+        if (!invalidatedInventories.isEmpty()) {
+            var invalidated = new ArrayList<>(invalidatedInventories);
+            invalidatedInventories.clear();
+            for (var mounted : invalidated) {
+                mounted.resync();
+            }
+        }
+        for (var mounted : polledInventories) {
+            mounted.poll();
+        }
+
         // Update cache
-        var previousStacks = lastTickStacks;
-        // Already set the value so that it can be accessed by the watcher node callbacks.
-        this.lastTickStacks = storage.getAvailableStacks();
-        this.cachedAvailableStacks.reset();
-        this.cachedAvailableStacks.addAll(lastTickStacks);
-        this.cachedAvailableStacks.removeZeros();
+        var changes = pendingChanges;
+        pendingChanges = new KeyCounter();
+        for (var entry : changes) {
+            var delta = entry.getLongValue();
+            if (delta != 0) {
+                var what = entry.getKey();
+                cachedAvailableStacks.add(what, delta);
+                storedAmounts.addTo(what.getType(), delta);
+                if (cachedAvailableStacks.get(what) == 0) {
+                    cachedAvailableStacks.removeKey(what);
+                }
+            }
+        }
+
         // Update watchers
-        previousStacks.removeAll(cachedAvailableStacks);
-        previousStacks.removeZeros();
-        for (var entry : previousStacks) {
+        var changedKeys = new ArrayList<AEKey>();
+        for (var entry : changes) {
+            if (entry.getLongValue() == 0) {
+                continue;
+            }
+            changedKeys.add(entry.getKey());
             long newAmount = cachedAvailableStacks.get(entry.getKey());
             for (var watcher : interestManager.get(entry.getKey())) {
                 watcher.getHost().onStackChange(entry.getKey(), newAmount);
@@ -90,6 +144,10 @@ public void onServerEndTick() {
                 watcher.getHost().onStackChange(entry.getKey(), newAmount);
             }
         }
+        changeFeed.publish(changedKeys);
+        if (!changedKeys.isEmpty()) {
+            inventorySnapshot = cachedAvailableStacks.snapshot(inventorySnapshot, changedKeys);
+        }
     }
 
     /**
@@ -142,6 +200,26 @@ public KeyCounter getCachedInventory() {
         return cachedAvailableStacks;
     }
 
+    @Override
+    public KeyCounter getCachedInventorySnapshot() {
+        return inventorySnapshot;
+    }
+
+    @Override
+    public long getCachedAmount(AEKeyType type) {
+        return storedAmounts.getLong(type);
+    }
+
+    @Override
+    public long getCachedInventoryVersion() {
+        return changeFeed.getVersion();
+    }
+
+    @Override
+    public boolean getCachedInventoryChangesSince(long version, Consumer<AEKey> consumer) {
+        return changeFeed.getChangesSince(version, consumer);
+    }
+
     @Override
     public void addGlobalStorageProvider(IStorageProvider provider) {
         var state = new ProviderState(provider);
@@ -188,7 +266,7 @@ public void refreshGlobalStorageProvider(IStorageProvider provider) {
      */
     private class ProviderState implements IStorageMounts {
         private final IStorageProvider provider;
-        private final Set<MEStorage> inventories = new HashSet<>();
+        private final Map<MEStorage, MountedInventory> inventories = new IdentityHashMap<>();
         private boolean mounted;
 
         public ProviderState(IStorageProvider provider) {
@@ -210,12 +288,16 @@ private void mount() {
         public void mount(MEStorage inventory, int priority) {
             Preconditions.checkState(mounted, "Cannot use StorageMounts after the storage has been unmounted.");
 
-            if (!inventories.add(inventory)) {
+            if (inventories.containsKey(inventory)) {
                 throw new IllegalStateException("Cannot mount the same inventory twice.");
             }
 
             // Mount this inventory into the network storage
             storage.mount(priority, inventory);
+
+            var mounted = new MountedInventory(inventory);
+            inventories.put(inventory, mounted);
+            mounted.mount();
         }
 
         public void update() {
@@ -229,14 +311,115 @@ public void unmount() {
             }
             mounted = false;
 
-            for (var inventory : inventories) {
-                unmount(inventory);
+            for (var mounted : inventories.values()) {
+                storage.unmount(mounted.inventory);
+                mounted.unmount();
             }
             inventories.clear();
         }
+    }
 
-        private void unmount(MEStorage inventory) {
-            storage.unmount(inventory);
+    /**
+     * Tracks the content a mounted inventory contributes to the network inventory. Inventories that support
+     * {@link IJournalingStorage journaling} report their changes as they happen, while all others are polled every
+     * tick and diffed against their previous content.
+     */
+    private class MountedInventory implements IStorageJournal {
+        private final MEStorage inventory;
+        private KeyCounter contents = new KeyCounter();
+        private boolean mounted;
+        private boolean invalidated;
+
+        public MountedInventory(MEStorage inventory) {
+            this.inventory = inventory;
+        }
+
+        public void mount() {
+            mounted = true;
+            attachJournal();
+            poll();
+        }
+
+        public void unmount() {
+            mounted = false;
+            if (inventory instanceof IJournalingStorage journalingStorage) {
+                journalingStorage.setJournal(null);
+            }
+            polledInventories.remove(this);
+            pendingChanges.removeAll(contents);
+            contents = new KeyCounter();
+        }
+
+        public void resync() {
+            invalidated = false;
+            if (mounted) {
+                attachJournal();
+                poll();
+            }
+        }
+
+        private void attachJournal() {
+            if (inventory instanceof IJournalingStorage journalingStorage && journalingStorage.setJournal(this)) {
+                polledInventories.remove(this);
+            } else {
+                polledInventories.add(this);
+            }
+        }
+
+        /**
+         * Re-queries the full content of the inventory and records the difference to the previous content.
+         */
+        public void poll() {
+            var current = new KeyCounter();
+            storage.getAvailableStacks(inventory, current);
+
+            for (var entry : current) {
+                var amount = entry.getLongValue();
+                if (amount != 0) {
+                    var previous = contents.get(entry.getKey());
+                    if (previous == 0) {
+                        storage.invalidateInsertRoute(entry.getKey());
+                    }
+                    var delta = amount - previous;
+                    if (delta != 0) {
+                        pendingChanges.add(entry.getKey(), delta);
+                    }
+                }
+            }
+            for (var entry : contents) {
+                if (current.get(entry.getKey()) == 0) {
+                    storage.invalidateInsertRoute(entry.getKey());
+                    pendingChanges.remove(entry.getKey(), entry.getLongValue());
+                }
+            }
+
+            current.removeZeros();
+            contents = current;
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long delta) {
+            var previous = contents.get(what);
+            contents.add(what, delta);
+            var current = contents.get(what);
+            if (current == 0) {
+                contents.removeKey(what);
+            }
+            if ((previous == 0) != (current == 0)) {
+                // The inventory's preference for storing this key changed
+                storage.invalidateInsertRoute(what);
+            }
+            pendingChanges.add(what, delta);
+        }
+
+        @Override
+        public void onInvalidated() {
+            // Partitioning or similar changed, which can change which keys this inventory prefers
+            storage.invalidateInsertRoutes();
+            if (mounted && !invalidated) {
+                invalidated = true;
+                invalidatedInventories.add(this);
+            }
         }
     }
 }
@@ -22,13 +22,11 @@
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
-import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.Iterators;
 
 import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
@@ -41,8 +39,10 @@
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.ITickManager;
 import appeng.api.networking.ticking.TickRateModulation;
+import appeng.core.AEConfig;
 import appeng.me.GridNode;
 import appeng.me.service.helpers.TickTracker;
+import appeng.me.service.helpers.TickWheel;
 
 public class TickManagerService implements ITickManager, IGridServiceProvider {
 
@@ -54,12 +54,16 @@ public class TickManagerService implements ITickManager, IGridServiceProvider {
     private final Map<IGridNode, TickTracker> alertable = new HashMap<>();
     private final Map<IGridNode, TickTracker> sleeping = new HashMap<>();
     private final Map<IGridNode, TickTracker> awake = new HashMap<>();
-    private final Map<Level, PriorityQueue<TickTracker>> upcomingTicks = new HashMap<>();
+    private final Map<Level, TickWheel> upcomingTicks = new HashMap<>();
 
-    private PriorityQueue<TickTracker> currentlyTickingQueue = null;
+    private TickWheel currentlyTickingQueue = null;
 
     private long currentTick = 0;
     private Stopwatch stopWatch = Stopwatch.createUnstarted();
+    /**
+     * Time spent ticking the nodes of this grid during the current server tick, in nanoseconds.
+     */
+    private long tickTimeSpent;
 
     public TickManagerService(@SuppressWarnings("unused") final IGrid g) {
     }
@@ -67,6 +71,7 @@ public TickManagerService(@SuppressWarnings("unused") final IGrid g) {
     @Override
     public void onServerStartTick() {
         this.currentTick++;
+        this.tickTimeSpent = 0;
     }
 
     @Override
@@ -101,17 +106,12 @@ private void tickLevelQueue(@Nullable Level level) {
         }
     }
 
-    private void tickQueue(PriorityQueue<TickTracker> queue) {
+    private void tickQueue(TickWheel queue) {
+        long budget = TimeUnit.MICROSECONDS.toNanos(AEConfig.instance().getGridTickBudgetMicros());
+        long start = System.nanoTime();
         TickTracker tt;
 
-        while (!queue.isEmpty()) {
-            // Peek and stop once it reaches a TickTracker running at a later tick
-            tt = queue.peek();
-            if (tt.getNextTick() > this.currentTick) {
-                break;
-            }
-
-            queue.poll();
+        while ((tt = queue.pollDue(this.currentTick)) != null) {
             final int diff = (int) (this.currentTick - tt.getLastTick());
             final TickRateModulation mod = this.unsafeTickingRequest(tt, diff);
 
@@ -131,9 +131,18 @@ private void tickQueue(PriorityQueue<TickTracker> queue) {
 
             if (this.awake.containsKey(tt.getNode())) {
                 // Queue already known, no need to use addToQueue() to resolve it again.
+                // The node may have been alerted while ticking, and thus already be requeued.
+                queue.remove(tt);
                 queue.add(tt);
             }
+
+            // Whatever remains due stays in the wheel and is ticked first on the next tick
+            if (budget > 0 && this.tickTimeSpent + System.nanoTime() - start > budget) {
+                break;
+            }
         }
+
+        this.tickTimeSpent += System.nanoTime() - start;
     }
 
     @Override
@@ -141,11 +150,16 @@ public void removeNode(final IGridNode gridNode) {
         var tickable = gridNode.getService(IGridTickable.class);
         if (tickable != null) {
             this.alertable.remove(gridNode);
-            this.sleeping.remove(gridNode);
+            var sleepingTracker = this.sleeping.remove(gridNode);
 
-            // Also remove the tracker from the queue to not tick it again.
+            // Also remove the tracker from the queue to not tick it again. Sleeping nodes may still be queued too.
             var tt = this.awake.remove(gridNode);
-            this.removeFromQueue(gridNode, tt);
+            if (tt == null) {
+                tt = sleepingTracker;
+            }
+            if (tt != null) {
+                this.removeFromQueue(gridNode, tt);
+            }
         }
     }
 
@@ -287,8 +301,8 @@ private LongSummaryStatistics getStatistics(final IGridNode node) {
     /**
      * null as level could be used for virtual nodes.
      */
-    private PriorityQueue<TickTracker> getQueue(@Nullable Level level) {
-        return this.upcomingTicks.computeIfAbsent(level, (key) -> new PriorityQueue<>());
+    private TickWheel getQueue(@Nullable Level level) {
+        return this.upcomingTicks.computeIfAbsent(level, (key) -> new TickWheel(this.currentTick));
     }
 
     private void addToQueue(IGridNode node, TickTracker tt) {
@@ -298,7 +312,10 @@ private void addToQueue(IGridNode node, TickTracker tt) {
 
     private void removeFromQueue(IGridNode node, TickTracker tt) {
         var level = node.getLevel();
-        var queue = getQueue(level);
+        var queue = this.upcomingTicks.get(level);
+        if (queue == null) {
+            return;
+        }
         queue.remove(tt);
 
         // Make sure we don't cleanup a queue we are iterating over,
@@ -356,7 +373,7 @@ public NodeStatus getStatus(IGridNode node) {
         boolean isQueued = false;
         var tickQueue = upcomingTicks.get(node.getLevel());
         if (awakeTracker != null && tickQueue != null) {
-            isQueued = Iterators.contains(tickQueue.iterator(), awakeTracker);
+            isQueued = tickQueue.contains(awakeTracker);
         }
 
         // Get the tick-request stats
@@ -378,6 +395,31 @@ public NodeStatus getStatus(IGridNode node) {
                 currentTick - lastTick);
     }
 
+    /**
+     * @return The number of nodes waiting in this grid's tick wheels.
+     */
+    public int getQueuedCount() {
+        int queued = 0;
+        for (var queue : this.upcomingTicks.values()) {
+            queued += queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Counts the nodes that are overdue, i.e. because their tick was postponed due to the grid's tick budget. Walks the
+     * entire tick wheels, so this is only meant for monitoring on demand.
+     *
+     * @return The number of nodes that are due, but haven't been ticked yet.
+     */
+    public int getOverdueCount() {
+        int overdue = 0;
+        for (var queue : this.upcomingTicks.values()) {
+            overdue += queue.countDue(this.currentTick);
+        }
+        return overdue;
+    }
+
     public record NodeStatus(
             boolean alertable,
             boolean sleeping,
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import appeng.api.networking.energy.IEnergyGridProvider;
+import appeng.me.service.EnergyService;
+
+/**
+ * The {@link IEnergyGridProvider energy grid providers} reachable from a grid, and which providers each of them leads
+ * to. Asking a provider for the providers behind it is not free, e.g. quartz fibers look up the grids on both sides,
+ * so the graph is built once and reused until it is no longer {@link #isCurrent() current}.
+ * <p>
+ * Providers only change which providers they lead to when nodes providing an {@link IEnergyGridProvider} join or leave
+ * a grid. The graph remembers the {@link EnergyService#getEnergyGridProvidersVersion() version} of every grid it
+ * passes through, and is outdated as soon as any of them changed.
+ */
+public final class EnergyProviderGraph {
+    private final Node root;
+    private final EnergyService[] services;
+    private final long[] versions;
+
+    private EnergyProviderGraph(Node root, EnergyService[] services, long[] versions) {
+        this.root = root;
+        this.services = services;
+        this.versions = versions;
+    }
+
+    /**
+     * Discovers all providers reachable from the given grid's energy service.
+     */
+    public static EnergyProviderGraph build(EnergyService rootService) {
+        var nodes = new ArrayList<Node>();
+        var nodesByProvider = new HashMap<IEnergyGridProvider, Node>();
+        var services = new ArrayList<EnergyService>();
+
+        var root = new Node(0, rootService);
+        nodes.add(root);
+        nodesByProvider.put(rootService, root);
+
+        // Breadth-first, so every provider is asked for the providers behind it exactly once
+        for (int i = 0; i < nodes.size(); i++) {
+            var node = nodes.get(i);
+            if (node.provider instanceof EnergyService service) {
+                services.add(service);
+            }
+
+            List<Node> neighbours = new ArrayList<>();
+            for (var provider : node.provider.providers()) {
+                var neighbour = nodesByProvider.get(provider);
+                if (neighbour == null) {
+                    neighbour = new Node(nodes.size(), provider);
+                    nodes.add(neighbour);
+                    nodesByProvider.put(provider, neighbour);
+                }
+                if (neighbour != node && !neighbours.contains(neighbour)) {
+                    neighbours.add(neighbour);
+                }
+            }
+            node.neighbours = neighbours.toArray(new Node[0]);
+        }
+
+        var versions = new long[services.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = services.get(i).getEnergyGridProvidersVersion();
+        }
+
+        return new EnergyProviderGraph(root, services.toArray(new EnergyService[0]), versions);
+    }
+
+    /**
+     * @return False if the providers of any grid in this graph changed since it was built.
+     */
+    public boolean isCurrent() {
+        for (int i = 0; i < services.length; i++) {
+            if (services[i].getEnergyGridProvidersVersion() != versions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The node of the energy service this graph was built for.
+     */
+    public Node getRoot() {
+        return root;
+    }
+
+    public static final class Node {
+        private final int index;
+        private final IEnergyGridProvider provider;
+        private Node[] neighbours;
+
+        private Node(int index, IEnergyGridProvider provider) {
+            this.index = index;
+            this.provider = provider;
+        }
+
+        /**
+         * @return A number that is unique within the graph, e.g. to track visited providers in a bit set.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public IEnergyGridProvider getProvider() {
+            return provider;
+        }
+
+        /**
+         * @return The nodes of the providers returned by {@link IEnergyGridProvider#providers()}, without duplicates.
+         *         <strong>Do not modify!</strong>
+         */
+        public Node[] getNeighbours() {
+            return neighbours;
+        }
+    }
+}
@@ -6,14 +6,19 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Multisets;
 
 import appeng.api.config.FuzzyMode;
 import appeng.api.crafting.IPatternDetails;
@@ -22,6 +27,8 @@
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
 import appeng.api.storage.AEKeyFilter;
+import appeng.crafting.CraftingPatternIndex;
+import appeng.me.helpers.StorageChangeFeed;
 
 /**
  * Keeps track of the crafting patterns in the network, and related information.
@@ -35,6 +42,25 @@ public class NetworkCraftingProviders {
      */
     private final KeyCounter craftableItemsList = new KeyCounter();
     private final Map<AEKey, Integer> emitableItems = new HashMap<>();
+    /**
+     * Snapshot handed out to crafting calculations, rebuilt lazily after the providers changed.
+     */
+    @Nullable
+    private CraftingPatternIndex patternIndex;
+    /**
+     * Publishes the keys that became craftable or stopped being craftable, so that terminals don't have to compare the
+     * full set of craftables every tick.
+     */
+    private final StorageChangeFeed craftablesFeed = new StorageChangeFeed();
+    /**
+     * Keys whose craftable state may have changed since the last publication, mapped to their state at that time.
+     */
+    private final Map<AEKey, Boolean> pendingCraftableChanges = new HashMap<>();
+    /**
+     * Nodes whose patterns have to be re-read from their provider. Refreshes are applied in bulk at the end of the tick.
+     * Queries don't apply them, since that would modify collections that callers may still be iterating over.
+     */
+    private final Set<IGridNode> pendingRefreshes = new LinkedHashSet<>();
 
     public void addProvider(IGridNode node) {
         var provider = node.getService(ICraftingProvider.class);
@@ -45,20 +71,59 @@ public void addProvider(IGridNode node) {
             var state = new ProviderState(provider);
             state.mount(this);
             craftingProviders.put(node, state);
+            patternIndex = null;
         }
     }
 
     public void removeProvider(IGridNode node) {
+        pendingRefreshes.remove(node);
+
         var provider = node.getService(ICraftingProvider.class);
         if (provider != null) {
             var state = craftingProviders.remove(node);
             if (state != null) {
                 state.unmount(this);
+                patternIndex = null;
+            }
+        }
+    }
+
+    /**
+     * Queues re-reading the patterns and emitable keys of the given node's provider. Only the patterns that actually
+     * changed are remounted.
+     */
+    public void refreshProvider(IGridNode node) {
+        pendingRefreshes.add(node);
+    }
+
+    /**
+     * Applies all queued {@link #refreshProvider refreshes}. Must only be called when no views returned by this class
+     * are being iterated, i.e. at the end of the tick.
+     */
+    public void applyPendingRefreshes() {
+        if (pendingRefreshes.isEmpty()) {
+            return;
+        }
+
+        var nodes = new ArrayList<>(pendingRefreshes);
+        pendingRefreshes.clear();
+
+        for (var node : nodes) {
+            var provider = node.getService(ICraftingProvider.class);
+            var state = craftingProviders.get(node);
+            if (state != null && state.provider == provider) {
+                if (state.update(this)) {
+                    patternIndex = null;
+                }
+            } else {
+                removeProvider(node);
+                addProvider(node);
             }
         }
     }
 
     public Set<AEKey> getCraftables(AEKeyFilter filter) {
+
         var result = new HashSet<AEKey>();
 
         // add craftable items!
@@ -77,6 +142,56 @@ public Set<AEKey> getCraftables(AEKeyFilter filter) {
         return result;
     }
 
+    /**
+     * @return A version that increases whenever the set of keys returned by {@link #getCraftables} changed.
+     */
+    public long getCraftablesVersion() {
+        publishCraftableChanges();
+        return craftablesFeed.getVersion();
+    }
+
+    /**
+     * Passes all keys that became craftable or stopped being craftable after the given version to the consumer.
+     *
+     * @return False if the changes are no longer retained, and the full set of craftables has to be compared instead.
+     */
+    public boolean getCraftablesChangesSince(long version, Consumer<AEKey> consumer) {
+        publishCraftableChanges();
+        return craftablesFeed.getChangesSince(version, consumer);
+    }
+
+    private boolean isCraftableOrEmitable(AEKey what) {
+        return craftableItems.containsKey(what) || emitableItems.containsKey(what);
+    }
+
+    /**
+     * Must be called before the craftable state of the given key is modified.
+     */
+    private void beforeCraftableChange(AEKey what) {
+        if (!pendingCraftableChanges.containsKey(what)) {
+            pendingCraftableChanges.put(what, isCraftableOrEmitable(what));
+        }
+    }
+
+    /**
+     * Publishes the pending changes as a single version. Providers are usually remounted in bulk (i.e. when a grid
+     * boots or a provider is refreshed), and keys that end up in their previous state are not published at all.
+     */
+    private void publishCraftableChanges() {
+        if (pendingCraftableChanges.isEmpty()) {
+            return;
+        }
+
+        var changed = new ArrayList<AEKey>();
+        for (var entry : pendingCraftableChanges.entrySet()) {
+            if (isCraftableOrEmitable(entry.getKey()) != entry.getValue()) {
+                changed.add(entry.getKey());
+            }
+        }
+        pendingCraftableChanges.clear();
+        craftablesFeed.publish(changed);
+    }
+
     public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
         var patterns = this.craftableItems.get(whatToCraft);
         if (patterns != null) {
@@ -99,6 +214,20 @@ public boolean canEmitFor(AEKey someItem) {
         return this.emitableItems.containsKey(someItem);
     }
 
+    /**
+     * @return an immutable view of the current patterns that crafting calculations can use off-thread.
+     */
+    public CraftingPatternIndex getPatternIndex() {
+        if (patternIndex == null) {
+            var patterns = new HashMap<AEKey, Collection<IPatternDetails>>();
+            for (var entry : craftableItems.entrySet()) {
+                patterns.put(entry.getKey(), entry.getValue().keySet());
+            }
+            patternIndex = new CraftingPatternIndex(patterns, emitableItems.keySet());
+        }
+        return patternIndex;
+    }
+
     public Iterable<ICraftingProvider> getMediums(IPatternDetails key) {
         var mediumList = this.craftingMethods.get(key);
         return Objects.requireNonNullElse(mediumList, Collections.emptyList());
@@ -130,8 +259,8 @@ public Iterator<ICraftingProvider> iterator() {
 
     private static class ProviderState {
         private final ICraftingProvider provider;
-        private final Set<AEKey> emitableItems;
-        private final List<IPatternDetails> patterns;
+        private Set<AEKey> emitableItems;
+        private List<IPatternDetails> patterns;
 
         private ProviderState(ICraftingProvider provider) {
             this.provider = provider;
@@ -141,37 +270,104 @@ private ProviderState(ICraftingProvider provider) {
 
         private void mount(NetworkCraftingProviders methods) {
             for (var emitable : emitableItems) {
-                methods.emitableItems.merge(emitable, 1, Integer::sum);
+                mountEmitable(methods, emitable);
             }
             for (var pattern : patterns) {
-                // output -> pattern (for simulation)
-                var primaryOutput = pattern.getPrimaryOutput();
-
-                methods.craftableItemsList.add(primaryOutput.what(), 1);
-
-                var patternMap = methods.craftableItems.computeIfAbsent(primaryOutput.what(), k -> new HashMap<>());
-                patternMap.merge(pattern, 1, Integer::sum);
-
-                // pattern -> method (for execution)
-                methods.craftingMethods.computeIfAbsent(pattern, d -> new CraftingProviderList()).add(provider);
+                mountPattern(methods, pattern);
             }
         }
 
         private void unmount(NetworkCraftingProviders methods) {
             for (var emitable : emitableItems) {
-                methods.emitableItems.compute(emitable, (key, cnt) -> cnt == 1 ? null : cnt - 1);
+                unmountEmitable(methods, emitable);
             }
             for (var pattern : patterns) {
-                // can in theory leak a bit of memory over time if never cleaned up, but it shouldn't be too bad.
-                var primaryOutput = pattern.getPrimaryOutput();
+                unmountPattern(methods, pattern);
+            }
+        }
+
+        /**
+         * Re-reads the patterns and emitable keys of the provider and only remounts those that changed.
+         *
+         * @return true if anything changed.
+         */
+        private boolean update(NetworkCraftingProviders methods) {
+            var newEmitableItems = new HashSet<>(provider.getEmitableItems());
+            var newPatterns = new ArrayList<>(provider.getAvailablePatterns());
+            var changed = false;
 
-                methods.craftableItemsList.remove(primaryOutput.what(), 1);
+            for (var emitable : emitableItems) {
+                if (!newEmitableItems.contains(emitable)) {
+                    unmountEmitable(methods, emitable);
+                    changed = true;
+                }
+            }
+            for (var emitable : newEmitableItems) {
+                if (!emitableItems.contains(emitable)) {
+                    mountEmitable(methods, emitable);
+                    changed = true;
+                }
+            }
+
+            // A provider can offer the same pattern more than once, so compare the number of occurrences
+            Multiset<IPatternDetails> removedPatterns = HashMultiset.create(patterns);
+            Multisets.removeOccurrences(removedPatterns, newPatterns);
+            Multiset<IPatternDetails> addedPatterns = HashMultiset.create(newPatterns);
+            Multisets.removeOccurrences(addedPatterns, patterns);
+
+            for (var pattern : removedPatterns) {
+                unmountPattern(methods, pattern);
+                changed = true;
+            }
+            for (var pattern : addedPatterns) {
+                mountPattern(methods, pattern);
+                changed = true;
+            }
+
+            this.emitableItems = newEmitableItems;
+            this.patterns = newPatterns;
+            return changed;
+        }
+
+        private void mountEmitable(NetworkCraftingProviders methods, AEKey emitable) {
+            methods.beforeCraftableChange(emitable);
+            methods.emitableItems.merge(emitable, 1, Integer::sum);
+        }
+
+        private void unmountEmitable(NetworkCraftingProviders methods, AEKey emitable) {
+            methods.beforeCraftableChange(emitable);
+            methods.emitableItems.compute(emitable, (key, cnt) -> cnt == 1 ? null : cnt - 1);
+        }
+
+        private void mountPattern(NetworkCraftingProviders methods, IPatternDetails pattern) {
+            // output -> pattern (for simulation)
+            var primaryOutput = pattern.getPrimaryOutput();
+            methods.beforeCraftableChange(primaryOutput.what());
+
+            methods.craftableItemsList.add(primaryOutput.what(), 1);
 
-                var patternMap = methods.craftableItems.get(primaryOutput.what());
-                patternMap.compute(pattern, (pat, cnt) -> cnt == 1 ? null : cnt - 1);
+            var patternMap = methods.craftableItems.computeIfAbsent(primaryOutput.what(), k -> new HashMap<>());
+            patternMap.merge(pattern, 1, Integer::sum);
 
-                methods.craftingMethods.get(pattern).remove(provider);
+            // pattern -> method (for execution)
+            methods.craftingMethods.computeIfAbsent(pattern, d -> new CraftingProviderList()).add(provider);
+        }
+
+        private void unmountPattern(NetworkCraftingProviders methods, IPatternDetails pattern) {
+            var primaryOutput = pattern.getPrimaryOutput();
+            methods.beforeCraftableChange(primaryOutput.what());
+
+            methods.craftableItemsList.remove(primaryOutput.what(), 1);
+
+            var patternMap = methods.craftableItems.get(primaryOutput.what());
+            patternMap.compute(pattern, (pat, cnt) -> cnt == 1 ? null : cnt - 1);
+            // Otherwise the key would still be reported as craftable
+            if (patternMap.isEmpty()) {
+                methods.craftableItems.remove(primaryOutput.what());
             }
+
+            // can in theory leak a bit of memory over time if never cleaned up, but it shouldn't be too bad.
+            methods.craftingMethods.get(pattern).remove(provider);
         }
     }
 }
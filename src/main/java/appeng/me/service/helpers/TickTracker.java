@@ -20,15 +20,13 @@
 
 import java.util.LongSummaryStatistics;
 
-import javax.annotation.Nonnull;
-
 import net.minecraft.CrashReportCategory;
 
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickingRequest;
 
-public class TickTracker implements Comparable<TickTracker> {
+public class TickTracker {
 
     private final TickingRequest request;
     private final IGridTickable gt;
@@ -38,6 +36,12 @@ public class TickTracker implements Comparable<TickTracker> {
     private long lastTick;
     private int currentRate;
 
+    // Position in the tick wheel, maintained by TickWheel
+    TickWheel wheel;
+    long scheduledTick;
+    TickTracker prevInSlot;
+    TickTracker nextInSlot;
+
     public TickTracker(final TickingRequest req, final IGridNode node, final IGridTickable gt, final long currentTick) {
         this.request = req;
         this.gt = gt;
@@ -47,24 +51,6 @@ public TickTracker(final TickingRequest req, final IGridNode node, final IGridTi
         this.statistics = new LongSummaryStatistics();
     }
 
-    @Override
-    public int compareTo(@Nonnull final TickTracker t) {
-        int next = Long.compare(this.getNextTick(), t.getNextTick());
-
-        if (next != 0) {
-            return next;
-        }
-
-        int last = Long.compare(this.getLastTick(), t.getLastTick());
-
-        if (last != 0) {
-            return last;
-        }
-
-        return Integer.compare(this.getCurrentRate(), t.getCurrentRate());
-
-    }
-
     public void addEntityCrashInfo(CrashReportCategory category) {
         node.fillCrashReportCategory(category);
 
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Timing wheel holding the {@link TickTracker}s that are waiting for their next tick. Every slot holds a linked list of
+ * the trackers due at ticks that map to it, and trackers store their own links, so adding, removing and rescheduling a
+ * tracker are constant time.
+ * <p>
+ * Trackers scheduled more than {@link #SLOTS} ticks ahead share a slot with earlier ticks, and are skipped until their
+ * tick comes around.
+ */
+public class TickWheel {
+    private static final int SLOTS = 256;
+    private static final int MASK = SLOTS - 1;
+
+    private final TickTracker[] heads = new TickTracker[SLOTS];
+    private final TickTracker[] tails = new TickTracker[SLOTS];
+    private int size;
+    /**
+     * The earliest tick whose trackers may not have been ticked yet. Trackers that are overdue are scheduled for this
+     * tick.
+     */
+    private long baseTick;
+
+    public TickWheel(long currentTick) {
+        this.baseTick = currentTick;
+    }
+
+    public void add(TickTracker tt) {
+        Preconditions.checkState(tt.wheel == null, "Tick tracker is already scheduled");
+
+        long tick = Math.max(tt.getNextTick(), this.baseTick);
+        int slot = (int) (tick & MASK);
+
+        tt.wheel = this;
+        tt.scheduledTick = tick;
+        tt.prevInSlot = tails[slot];
+        tt.nextInSlot = null;
+        if (tails[slot] != null) {
+            tails[slot].nextInSlot = tt;
+        } else {
+            heads[slot] = tt;
+        }
+        tails[slot] = tt;
+        size++;
+    }
+
+    public void remove(TickTracker tt) {
+        if (tt.wheel != this) {
+            return;
+        }
+
+        int slot = (int) (tt.scheduledTick & MASK);
+        if (tt.prevInSlot != null) {
+            tt.prevInSlot.nextInSlot = tt.nextInSlot;
+        } else {
+            heads[slot] = tt.nextInSlot;
+        }
+        if (tt.nextInSlot != null) {
+            tt.nextInSlot.prevInSlot = tt.prevInSlot;
+        } else {
+            tails[slot] = tt.prevInSlot;
+        }
+
+        tt.wheel = null;
+        tt.prevInSlot = null;
+        tt.nextInSlot = null;
+        size--;
+    }
+
+    public boolean contains(TickTracker tt) {
+        return tt.wheel == this;
+    }
+
+    /**
+     * Removes and returns the next tracker that is due at or before the given tick. Trackers that are added for the
+     * current tick while it is being processed are returned by subsequent calls.
+     *
+     * @return null once no more trackers are due.
+     */
+    @Nullable
+    public TickTracker pollDue(long currentTick) {
+        if (size == 0) {
+            this.baseTick = Math.max(this.baseTick, currentTick);
+            return null;
+        }
+
+        while (true) {
+            for (var tt = heads[(int) (baseTick & MASK)]; tt != null; tt = tt.nextInSlot) {
+                if (tt.scheduledTick <= baseTick) {
+                    remove(tt);
+                    return tt;
+                }
+            }
+
+            if (baseTick >= currentTick) {
+                return null;
+            }
+            baseTick++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of trackers that are due at or before the given tick, for monitoring.
+     */
+    public int countDue(long currentTick) {
+        int due = 0;
+        for (var head : heads) {
+            for (var tt = head; tt != null; tt = tt.nextInSlot) {
+                if (tt.scheduledTick <= currentTick) {
+                    due++;
+                }
+            }
+        }
+        return due;
+    }
+}
@@ -3,6 +3,8 @@
 import java.util.Map;
 import java.util.Objects;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 
@@ -18,8 +20,10 @@
 /**
  * Combines several ME storages that each handle only a given key-space.
  */
-public class CompositeStorage implements MEStorage, ITickingMonitor {
+public class CompositeStorage implements MEStorage, ITickingMonitor, IJournalingStorage {
     private final InventoryCache cache;
+    @Nullable
+    private IStorageJournal journal;
 
     private Map<AEKeyType, MEStorage> storages;
 
@@ -32,6 +36,15 @@ public void setStorages(Map<AEKeyType, MEStorage> storages) {
         this.storages = Objects.requireNonNull(storages);
     }
 
+    /**
+     * The available stacks only change when the cache is updated, which reports the difference to the journal.
+     */
+    @Override
+    public boolean setJournal(@Nullable IStorageJournal journal) {
+        this.journal = journal;
+        return true;
+    }
+
     @Override
     public boolean isPreferredStorageFor(AEKey what, IActionSource source) {
         var storage = storages.get(what.getType());
@@ -103,21 +116,33 @@ public boolean update() {
             boolean changed = false;
             // Diff the front-buffer against the backbuffer
             for (var entry : frontBuffer) {
-                var old = backBuffer.get(entry.getKey());
-                if (old == 0 || old != entry.getLongValue()) {
-                    changed = true;
+                var amount = entry.getLongValue();
+                if (amount != 0) {
+                    var old = backBuffer.get(entry.getKey());
+                    if (old != amount) {
+                        changed = true;
+                        onStackChange(entry.getKey(), amount - old);
+                    }
                 }
             }
             // Account for removals
             for (var oldEntry : backBuffer) {
-                if (frontBuffer.get(oldEntry.getKey()) == 0) {
+                var old = oldEntry.getLongValue();
+                if (old != 0 && frontBuffer.get(oldEntry.getKey()) == 0) {
                     changed = true;
+                    onStackChange(oldEntry.getKey(), -old);
                 }
             }
 
             return changed;
         }
 
+        private void onStackChange(AEKey what, long delta) {
+            if (journal != null) {
+                journal.onStackChange(what, delta);
+            }
+        }
+
         public void getAvailableKeys(KeyCounter out) {
             out.addAll(frontBuffer);
         }
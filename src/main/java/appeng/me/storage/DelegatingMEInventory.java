@@ -2,6 +2,8 @@
 
 import java.util.Objects;
 
+import javax.annotation.Nullable;
+
 import net.minecraft.network.chat.Component;
 
 import appeng.api.config.Actionable;
@@ -16,8 +18,11 @@
  * <p/>
  * If no delegate is set, it will act like a {@link NullInventory}.
  */
-public class DelegatingMEInventory implements MEStorage {
+public class DelegatingMEInventory implements MEStorage, IJournalingStorage {
     private MEStorage delegate;
+    @Nullable
+    private IStorageJournal journal;
+    private final IStorageJournal delegateJournal = new DelegateJournal();
 
     public DelegatingMEInventory(MEStorage delegate) {
         this.delegate = Objects.requireNonNull(delegate, "delegate");
@@ -28,7 +33,34 @@ protected MEStorage getDelegate() {
     }
 
     protected void setDelegate(MEStorage delegate) {
+        if (this.journal != null && this.delegate instanceof IJournalingStorage journalingStorage) {
+            journalingStorage.setJournal(null);
+        }
         this.delegate = delegate;
+        invalidateJournal();
+    }
+
+    @Override
+    public boolean setJournal(@Nullable IStorageJournal journal) {
+        this.journal = journal;
+        return delegate instanceof IJournalingStorage journalingStorage
+                && journalingStorage.setJournal(journal != null ? delegateJournal : null);
+    }
+
+    /**
+     * Must be called by subclasses whenever a change to their configuration changes which stacks are available.
+     */
+    protected final void invalidateJournal() {
+        if (this.journal != null) {
+            this.journal.onInvalidated();
+        }
+    }
+
+    /**
+     * @return True if changes to the given key in the delegate are visible in this inventory's available stacks.
+     */
+    protected boolean isVisibleInJournal(AEKey what) {
+        return true;
     }
 
     @Override
@@ -60,4 +92,18 @@ public KeyCounter getAvailableStacks() {
     public Component getDescription() {
         return delegate.getDescription();
     }
+
+    private class DelegateJournal implements IStorageJournal {
+        @Override
+        public void onStackChange(AEKey what, long delta) {
+            if (journal != null && isVisibleInJournal(what)) {
+                journal.onStackChange(what, delta);
+            }
+        }
+
+        @Override
+        public void onInvalidated() {
+            invalidateJournal();
+        }
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.storage;
+
+import javax.annotation.Nullable;
+
+/**
+ * Implemented by {@link appeng.api.storage.MEStorage} that can publish every change to their available stacks to an
+ * {@link IStorageJournal}. This allows the network to maintain its inventory index incrementally instead of
+ * re-querying the full content of every mounted storage each tick.
+ */
+public interface IJournalingStorage {
+    /**
+     * Attaches or detaches the journal that receives the changes made to this storage. Only a single journal can be
+     * attached at a time.
+     *
+     * @param journal The journal to attach, or null to detach the current journal.
+     * @return True if every change to the available stacks will be reported to the journal. If false is returned, the
+     *         storage has to be polled instead.
+     */
+    boolean setJournal(@Nullable IStorageJournal journal);
+}
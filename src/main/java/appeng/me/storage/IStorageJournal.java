@@ -0,0 +1,39 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.storage;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Receives the changes made to the available stacks of an {@link IJournalingStorage}.
+ */
+public interface IStorageJournal {
+    /**
+     * Called whenever the amount of a key reported by {@link appeng.api.storage.MEStorage#getAvailableStacks} changed.
+     *
+     * @param delta The change in amount. Positive for insertions, negative for extractions.
+     */
+    void onStackChange(AEKey what, long delta);
+
+    /**
+     * Called when the available stacks changed in a way that cannot be described by individual deltas, i.e. because
+     * the underlying inventory or its filter was swapped out. The receiver has to re-query the full content.
+     */
+    void onInvalidated();
+}
@@ -44,6 +44,7 @@ public MEInventoryHandler(MEStorage inventory) {
 
     public void setAllowExtraction(boolean allowExtraction) {
         this.allowExtraction = allowExtraction;
+        invalidateJournal();
     }
 
     public void setAllowInsertion(boolean allowInsertion) {
@@ -56,6 +57,7 @@ protected IncludeExclude getWhitelist() {
 
     public void setWhitelist(final IncludeExclude myWhitelist) {
         this.partitionListMode = myWhitelist;
+        invalidateJournal();
     }
 
     protected IPartitionList getPartitionList() {
@@ -64,11 +66,21 @@ protected IPartitionList getPartitionList() {
 
     public void setPartitionList(final IPartitionList myPartitionList) {
         this.partitionList = myPartitionList;
+        invalidateJournal();
     }
 
     public void setExtractFiltering(boolean filterOnExtraction, boolean filterAvailableContents) {
         this.filterOnExtraction = filterOnExtraction;
         this.filterAvailableContents = filterAvailableContents;
+        invalidateJournal();
+    }
+
+    /**
+     * @return True if some stacks of the delegate are not reported as available. Whether this handler is the preferred
+     *         storage for such stacks can change without any change to its available stacks.
+     */
+    public boolean isHidingAvailableStacks() {
+        return this.filterAvailableContents;
     }
 
     @Override
@@ -136,6 +148,11 @@ public boolean isPreferredStorageFor(AEKey input, IActionSource source) {
         return super.isPreferredStorageFor(input, source);
     }
 
+    @Override
+    protected boolean isVisibleInJournal(AEKey what) {
+        return !this.filterAvailableContents || canExtract(what);
+    }
+
     protected boolean canExtract(AEKey request) {
         return allowExtraction && passesBlackOrWhitelist(request);
     }
@@ -22,7 +22,9 @@
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
@@ -31,9 +33,11 @@
 import com.google.common.base.Preconditions;
 
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.player.Player;
 
 import appeng.api.config.Actionable;
 import appeng.api.config.SecurityPermissions;
+import appeng.api.networking.security.IActionHost;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.KeyCounter;
@@ -48,6 +52,8 @@ public class NetworkStorage implements MEStorage {
     private static final ThreadLocal<Deque<NetworkStorage>> DEPTH_MOD = new ThreadLocal<>();
     private static final ThreadLocal<Deque<NetworkStorage>> DEPTH_SIM = new ThreadLocal<>();
     private static final Comparator<Integer> PRIORITY_SORTER = (o1, o2) -> Integer.compare(o2, o1);
+    private static final int MAX_INSERT_ROUTES = 4096;
+    private static final int MAX_INSERT_ROUTE_SOURCES = 16;
 
     private boolean mountsInUse;
 
@@ -56,6 +62,14 @@ public class NetworkStorage implements MEStorage {
     private final SecurityService security;
     private final NavigableMap<Integer, List<MEStorage>> priorityInventory;
     private final List<MEStorage> secondPassInventories = new ArrayList<>();
+    /**
+     * The order in which inventories are offered a key on insertion, cached per key since asking every inventory
+     * whether it is the preferred storage for a key is expensive. See {@link #invalidateInsertRoute(AEKey)}.
+     * <p/>
+     * Inventories may prefer a key depending on the source of the insertion, so each key has separate routes per
+     * player and machine. The least recently used keys and sources are evicted once there are too many.
+     */
+    private final Map<AEKey, Map<RouteSource, List<MEStorage>>> insertRoutes = new LruMap<>(MAX_INSERT_ROUTES);
     private int myPass = 0;
     // Queued mount/unmount operations that occurred while an insert/extract was ongoing
     // Is only non-null if something is queued
@@ -76,6 +90,7 @@ public void mount(int priority, MEStorage inventory) {
         } else {
             this.priorityInventory.computeIfAbsent(priority, k -> new ArrayList<>())
                     .add(inventory);
+            this.insertRoutes.clear();
         }
     }
 
@@ -95,9 +110,26 @@ public void unmount(MEStorage inventory) {
                     prioIt.remove();
                 }
             }
+            this.insertRoutes.clear();
         }
     }
 
+    /**
+     * Must be called when an inventory starts or stops being a preferred storage for the given key, i.e. when it starts
+     * or stops containing it. Such changes can't be noticed for stacks that an inventory doesn't report as available,
+     * so no routes are cached while such an inventory is mounted.
+     */
+    public void invalidateInsertRoute(AEKey what) {
+        this.insertRoutes.remove(what);
+    }
+
+    /**
+     * Must be called when an inventory changes its preferred storage in some other way, e.g. its partitioning.
+     */
+    public void invalidateInsertRoutes() {
+        this.insertRoutes.clear();
+    }
+
     public long insert(AEKey what, long amount, Actionable type, IActionSource src) {
         if (this.diveList(type)) {
             return 0;
@@ -112,40 +144,28 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
 
         this.mountsInUse = true;
         try {
-            for (var invList : this.priorityInventory.values()) {
-                secondPassInventories.clear();
-
-                // First give every inventory a chance to accept the item if it's preferential storage for the given
-                // stack
-                var ii = invList.iterator();
-                while (ii.hasNext() && remaining > 0) {
-                    var inv = ii.next();
-
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
-                    }
-
-                    if (inv.isPreferredStorageFor(what, src)) {
-                        remaining -= inv.insert(what, remaining, type, src);
-                    } else {
-                        secondPassInventories.add(inv);
-                    }
+            var routeSource = RouteSource.of(src);
+            var routes = this.insertRoutes.get(what);
+            var route = routes != null ? routes.get(routeSource) : null;
+            if (route == null) {
+                route = new ArrayList<>();
+                if (buildInsertRoute(what, src, route)) {
+                    this.insertRoutes.computeIfAbsent(what, key -> new LruMap<>(MAX_INSERT_ROUTE_SOURCES))
+                            .put(routeSource, route);
                 }
+            }
 
-                // Then give every remaining inventory a chance
-                for (var inv : secondPassInventories) {
-                    if (remaining <= 0) {
-                        break;
-                    }
-
-                    if (isQueuedForRemoval(inv)) {
-                        continue;
-                    }
+            for (var inv : route) {
+                if (remaining <= 0) {
+                    break;
+                }
 
-                    remaining -= inv.insert(what, remaining, type, src);
+                if (isQueuedForRemoval(inv)) {
+                    continue;
                 }
-            }
 
+                remaining -= inv.insert(what, remaining, type, src);
+            }
         } finally {
             this.mountsInUse = false;
         }
@@ -157,6 +177,39 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
         return amount - remaining;
     }
 
+    /**
+     * Orders the inventories by priority. Within the same priority, inventories that are the preferred storage for the
+     * given key come first.
+     *
+     * @param route Receives the inventories in the order they should be offered the key.
+     * @return False if the route must not be cached, because some inventory may change its preference for the key
+     *         without that being visible in its available stacks.
+     */
+    private boolean buildInsertRoute(AEKey what, IActionSource src, List<MEStorage> route) {
+        var cacheable = true;
+
+        for (var invList : this.priorityInventory.values()) {
+            secondPassInventories.clear();
+
+            for (var inv : invList) {
+                if (inv instanceof MEInventoryHandler handler && handler.isHidingAvailableStacks()) {
+                    cacheable = false;
+                }
+
+                if (inv.isPreferredStorageFor(what, src)) {
+                    route.add(inv);
+                } else {
+                    secondPassInventories.add(inv);
+                }
+            }
+
+            route.addAll(secondPassInventories);
+        }
+
+        secondPassInventories.clear();
+        return cacheable;
+    }
+
     private void flushQueuedOperations() {
         Preconditions.checkState(!this.mountsInUse);
         var queuedOperations = this.queuedOperations;
@@ -291,6 +344,20 @@ public void getAvailableStacks(KeyCounter out) {
         this.surface(Actionable.SIMULATE);
     }
 
+    /**
+     * Adds the available stacks of a single mounted inventory to the given counter, while applying the same recursion
+     * protection as {@link #getAvailableStacks(KeyCounter)}.
+     */
+    public void getAvailableStacks(MEStorage inventory, KeyCounter out) {
+        if (diveIteration(Actionable.SIMULATE)) {
+            return;
+        }
+
+        inventory.getAvailableStacks(out);
+
+        this.surface(Actionable.SIMULATE);
+    }
+
     private boolean diveIteration(Actionable type) {
         var cDepth = this.getDepth(type);
         if (cDepth.isEmpty()) {
@@ -317,4 +384,34 @@ private record MountOperation(int priority, MEStorage storage) implements Queued
 
     private record UnmountOperation(MEStorage storage) implements QueuedOperation {
     }
+
+    /**
+     * Identifies the sources that may see different insert routes. Players and machines compare by identity.
+     */
+    private record RouteSource(@Nullable Player player, @Nullable IActionHost machine) {
+        private static final RouteSource NONE = new RouteSource(null, null);
+
+        static RouteSource of(IActionSource src) {
+            var player = src.player().orElse(null);
+            var machine = src.machine().orElse(null);
+            return player == null && machine == null ? NONE : new RouteSource(player, machine);
+        }
+    }
+
+    /**
+     * Evicts the least recently used entry once the map exceeds its maximum size.
+     */
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
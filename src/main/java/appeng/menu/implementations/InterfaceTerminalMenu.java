@@ -18,8 +18,11 @@
 
 package appeng.menu.implementations;
 
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -28,27 +31,25 @@
 import net.minecraft.network.chat.Component.Serializer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.ItemStack;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import appeng.api.config.SecurityPermissions;
-import appeng.api.config.Settings;
-import appeng.api.config.YesNo;
 import appeng.api.inventories.InternalInventory;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.security.IActionHost;
-import appeng.blockentity.crafting.PatternProviderBlockEntity;
 import appeng.core.AELog;
 import appeng.core.sync.packets.InterfaceTerminalPacket;
 import appeng.crafting.pattern.EncodedPatternItem;
 import appeng.helpers.InventoryAction;
 import appeng.helpers.iface.DualityPatternProvider;
 import appeng.helpers.iface.IPatternProviderHost;
+import appeng.me.service.CraftingService;
 import appeng.menu.AEBaseMenu;
-import appeng.parts.crafting.PatternProviderPart;
 import appeng.parts.reporting.PatternAccessTerminalPart;
 import appeng.util.inv.AppEngInternalInventory;
 import appeng.util.inv.FilteredInternalInventory;
@@ -71,8 +72,13 @@ public class InterfaceTerminalMenu extends AEBaseMenu {
     // We use this serial number to uniquely identify all inventories we send to the client
     // It is used in packets sent by the client to interact with these inventories
     private static long inventorySerial = Long.MIN_VALUE;
-    private final Map<IPatternProviderHost, InvTracker> diList = new IdentityHashMap<>();
+    private final Map<DualityPatternProvider, InvTracker> diList = new IdentityHashMap<>();
     private final Long2ObjectOpenHashMap<InvTracker> byId = new Long2ObjectOpenHashMap<>();
+    // Providers that told us about changes since the last update
+    private final Set<DualityPatternProvider> changedProviders = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Consumer<DualityPatternProvider> providerChangeListener = changedProviders::add;
+    @Nullable
+    private IGrid listeningGrid;
 
     public InterfaceTerminalMenu(int id, final Inventory ip, final PatternAccessTerminalPart anchor) {
         this(TYPE, id, ip, anchor, true);
@@ -96,17 +102,32 @@ public void broadcastChanges() {
 
         IGrid grid = getGrid();
 
-        VisitorState state = new VisitorState();
-        if (grid != null) {
-            visitInterfaceHosts(grid, PatternProviderBlockEntity.class, state);
-            visitInterfaceHosts(grid, PatternProviderPart.class, state);
+        if (grid != this.listeningGrid) {
+            setListeningGrid(grid);
+            sendFullUpdate(grid);
+        } else if (!this.changedProviders.isEmpty()) {
+            sendIncrementalUpdate(grid);
         }
+    }
 
-        if (state.total != this.diList.size() || state.forceFullUpdate) {
-            sendFullUpdate(grid);
-        } else {
-            sendIncrementalUpdate();
+    @Override
+    public void removed(Player player) {
+        super.removed(player);
+        setListeningGrid(null);
+    }
+
+    /**
+     * Moves our listener for pattern provider changes to the crafting service of the given grid.
+     */
+    private void setListeningGrid(@Nullable IGrid grid) {
+        if (this.listeningGrid != null
+                && this.listeningGrid.getCraftingService() instanceof CraftingService craftingService) {
+            craftingService.removePatternProviderListener(providerChangeListener);
         }
+        if (grid != null && grid.getCraftingService() instanceof CraftingService craftingService) {
+            craftingService.addPatternProviderListener(providerChangeListener);
+        }
+        this.listeningGrid = grid;
     }
 
     @Nullable
@@ -121,28 +142,8 @@ private IGrid getGrid() {
         return null;
     }
 
-    private static class VisitorState {
-        // Total number of interface hosts founds
-        int total;
-        // Set to true if any visited machines were missing from diList, or had a different name
-        boolean forceFullUpdate;
-    }
-
-    private <T extends IPatternProviderHost> void visitInterfaceHosts(IGrid grid, Class<T> machineClass,
-            VisitorState state) {
-        for (var ih : grid.getActiveMachines(machineClass)) {
-            var dual = ih.getDuality();
-            if (dual.getConfigManager().getSetting(Settings.PATTERN_ACCESS_TERMINAL) == YesNo.NO) {
-                continue;
-            }
-
-            final InvTracker t = this.diList.get(ih);
-            if (t == null || !t.name.equals(dual.getTermName())) {
-                state.forceFullUpdate = true;
-            }
-
-            state.total++;
-        }
+    private static boolean isVisible(DualityPatternProvider dual, IGrid grid) {
+        return dual.isVisibleInTerminal() && dual.getGrid() == grid;
     }
 
     @Override
@@ -238,6 +239,7 @@ public void doAction(final ServerPlayer player, final InventoryAction action, fi
     private void sendFullUpdate(@Nullable IGrid grid) {
         this.byId.clear();
         this.diList.clear();
+        this.changedProviders.clear();
 
         sendPacketToClient(InterfaceTerminalPacket.clearExistingData());
 
@@ -245,30 +247,48 @@ private void sendFullUpdate(@Nullable IGrid grid) {
             return;
         }
 
-        for (var ih : grid.getActiveMachines(PatternProviderBlockEntity.class)) {
-            var dual = ih.getDuality();
-            if (dual.getConfigManager().getSetting(Settings.PATTERN_ACCESS_TERMINAL) == YesNo.YES) {
-                this.diList.put(ih, new InvTracker(dual, dual.getPatternInv(), dual.getTermName()));
-            }
-        }
-
-        for (var ih : grid.getActiveMachines(PatternProviderPart.class)) {
+        for (var ih : grid.getActiveMachinesAssignableTo(IPatternProviderHost.class)) {
             var dual = ih.getDuality();
-            if (dual.getConfigManager().getSetting(Settings.PATTERN_ACCESS_TERMINAL) == YesNo.YES) {
-                this.diList.put(ih, new InvTracker(dual, dual.getPatternInv(), dual.getTermName()));
+            if (dual.isVisibleInTerminal()) {
+                this.diList.put(dual, new InvTracker(dual, dual.getPatternInv(), dual.getTermName()));
             }
         }
 
         for (var inv : this.diList.values()) {
             this.byId.put(inv.serverId, inv);
-            CompoundTag data = new CompoundTag();
-            this.addItems(data, inv, 0, inv.server.size());
-            sendPacketToClient(InterfaceTerminalPacket.inventory(inv.serverId, data));
+            sendInventory(inv);
         }
     }
 
-    private void sendIncrementalUpdate() {
-        for (var inv : this.diList.values()) {
+    /**
+     * Only looks at the providers that reported a change. Providers that joined are sent on their own, while providers
+     * that left or were renamed require a full update, since the client can't drop or rename single entries.
+     */
+    private void sendIncrementalUpdate(IGrid grid) {
+        boolean needsFullUpdate = false;
+
+        for (var dual : this.changedProviders) {
+            var inv = this.diList.get(dual);
+            if (inv == null) {
+                if (isVisible(dual, grid)) {
+                    inv = new InvTracker(dual, dual.getPatternInv(), dual.getTermName());
+                    this.diList.put(dual, inv);
+                    this.byId.put(inv.serverId, inv);
+                    sendInventory(inv);
+                }
+                continue;
+            }
+
+            if (!isVisible(dual, grid) || !inv.name.equals(dual.getTermName())) {
+                needsFullUpdate = true;
+                break;
+            }
+
+            if (inv.version == dual.getTerminalVersion()) {
+                continue;
+            }
+            inv.version = dual.getTerminalVersion();
+
             CompoundTag data = null;
             for (int x = 0; x < inv.server.size(); x++) {
                 if (this.isDifferent(inv.server.getStackInSlot(x), inv.client.getStackInSlot(x))) {
@@ -282,6 +302,18 @@ private void sendIncrementalUpdate() {
                 sendPacketToClient(InterfaceTerminalPacket.inventory(inv.serverId, data));
             }
         }
+
+        this.changedProviders.clear();
+
+        if (needsFullUpdate) {
+            sendFullUpdate(grid);
+        }
+    }
+
+    private void sendInventory(InvTracker inv) {
+        CompoundTag data = new CompoundTag();
+        this.addItems(data, inv, 0, inv.server.size());
+        sendPacketToClient(InterfaceTerminalPacket.inventory(inv.serverId, data));
     }
 
     private boolean isDifferent(final ItemStack a, final ItemStack b) {
@@ -323,6 +355,8 @@ private static class InvTracker {
         private final long sortBy;
         private final long serverId = inventorySerial++;
         private final Component name;
+        // The version of the provider that was last sent to the client
+        private long version;
         // This is used to track the inventory contents we sent to the client for change detection
         private final InternalInventory client;
         // This is a reference to the real inventory used by this machine
@@ -333,6 +367,7 @@ public InvTracker(final DualityPatternProvider dual, final InternalInventory pat
             this.client = new AppEngInternalInventory(this.server.size());
             this.name = name;
             this.sortBy = dual.getSortValue();
+            this.version = dual.getTerminalVersion();
         }
     }
 
@@ -52,6 +52,11 @@ public class IncrementalUpdateHelper implements Iterable<AEKey> {
 
     private long serial;
 
+    /**
+     * Serials up to this one were assigned before the last full update, which made the client forget them.
+     */
+    private long staleSerial;
+
     /**
      * Indicates that a full update should be sent.
      */
@@ -82,6 +87,7 @@ public AEKey getBySerial(long serial) {
      */
     public void clear() {
         this.changes.clear();
+        this.staleSerial = this.serial;
         fullUpdate = true;
     }
 
@@ -91,6 +97,7 @@ public void clear() {
     public void reset() {
         clear();
         this.serial = 0;
+        this.staleSerial = 0;
         this.mapping.clear();
     }
 
@@ -114,6 +121,21 @@ public void commitChanges() {
         fullUpdate = false;
     }
 
+    /**
+     * Marks the full update as sent, but keeps the changes that have not been removed from this helper queued for the
+     * next update.
+     */
+    public void commitSentChanges() {
+        fullUpdate = false;
+    }
+
+    /**
+     * @return True if the given serial was assigned before the last full update, and the client no longer knows it.
+     */
+    public boolean isStale(long serial) {
+        return serial <= staleSerial;
+    }
+
     public boolean hasChanges() {
         return fullUpdate || !changes.isEmpty();
     }
@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -28,7 +29,6 @@
 import javax.annotation.Nullable;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import net.minecraft.server.level.ServerPlayer;
@@ -55,6 +55,7 @@
 import appeng.api.networking.energy.IEnergyService;
 import appeng.api.networking.energy.IEnergySource;
 import appeng.api.networking.security.IActionHost;
+import appeng.api.networking.storage.IStorageService;
 import appeng.api.stacks.AEFluidKey;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKey;
@@ -66,6 +67,7 @@
 import appeng.api.util.IConfigManager;
 import appeng.api.util.IConfigurableObject;
 import appeng.client.gui.me.common.MEStorageScreen;
+import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.sync.network.NetworkHandler;
 import appeng.core.sync.packets.ConfigValuePacket;
@@ -74,6 +76,7 @@
 import appeng.helpers.FluidContainerHelper;
 import appeng.helpers.InventoryAction;
 import appeng.me.helpers.ChannelPowerSrc;
+import appeng.me.helpers.StorageChangeFeed;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.SlotSemantic;
 import appeng.menu.guisync.GuiSync;
@@ -91,6 +94,8 @@
 public class MEStorageMenu extends AEBaseMenu
         implements IConfigManagerListener, IConfigurableObject, IMEInteractionHandler {
 
+    private static final String ACTION_REQUEST_FULL_UPDATE = "requestFullUpdate";
+
     public static final MenuType<MEStorageMenu> TYPE = MenuTypeBuilder
             .<MEStorageMenu, ITerminalHost>create(MEStorageMenu::new, ITerminalHost.class)
             .build("item_terminal");
@@ -106,6 +111,25 @@ public class MEStorageMenu extends AEBaseMenu
             .<MEStorageMenu, IPortableTerminal>create(MEStorageMenu::new, IPortableTerminal.class)
             .build("wirelessterm");
 
+    /**
+     * Limits the number of entries sent to the client per tick, so that opening a terminal on a large network doesn't
+     * send the entire inventory at once.
+     */
+    private static final int MAX_ENTRIES_PER_UPDATE = 8192;
+
+    /**
+     * Above this average tick time (in milliseconds), inventory updates are only sent at 4 Hz.
+     */
+    private static final float SLOW_TICK_TIME = 40;
+    /**
+     * Above this average tick time (in milliseconds), the server can't keep up and updates are only sent at 1 Hz.
+     */
+    private static final float OVERLOADED_TICK_TIME = 50;
+    /**
+     * If updates are larger than this per tick, they are only sent at 4 Hz.
+     */
+    private static final int LARGE_UPDATE_BYTES_PER_TICK = 16 * 1024;
+
     private final List<RestrictedInputSlot> viewCellSlots;
     private final IConfigManager clientCM;
     private final ITerminalHost host;
@@ -131,6 +155,25 @@ public class MEStorageMenu extends AEBaseMenu
 
     private final IncrementalUpdateHelper updateHelper = new IncrementalUpdateHelper();
 
+    /**
+     * Ticks between inventory updates sent to the client, which is adapted to the server load and update size. Changes
+     * are coalesced in {@link #updateHelper} in the meantime.
+     */
+    private int updateInterval = 1;
+    private int ticksSinceUpdate;
+    /**
+     * Set when the player interacts with the inventory, to show the result without waiting for the next update.
+     */
+    private boolean forceUpdate;
+    /**
+     * Set while the remaining chunks of a full update are being sent, which are exempt from the update interval.
+     */
+    private boolean sendingFullUpdate;
+    /**
+     * Total size of the inventory updates sent to the client, for monitoring.
+     */
+    private long updateBytesSent;
+
     /**
      * A grid connection is optional for a screen showing the content of a {@link MEStorage}, because inventories like
      * portable cells are not grid connected.
@@ -146,10 +189,22 @@ public class MEStorageMenu extends AEBaseMenu
     private IClientRepo clientRepo;
 
     /**
-     * The last set of craftables sent to the client.
+     * The last set of craftables sent to the client. Owned by this menu and updated in-place.
+     */
+    private Set<AEKey> previousCraftables = new HashSet<>();
+    /**
+     * The crafting service and its craftables version that {@link #previousCraftables} corresponds to. While these stay
+     * the same, the full set of craftables doesn't need to be compared.
      */
-    private Set<AEKey> previousCraftables = Collections.emptySet();
+    @Nullable
+    private ICraftingService previousCraftingService;
+    private long previousCraftablesVersion = ICraftingService.UNVERSIONED;
     private KeyCounter previousAvailableStacks = new KeyCounter();
+    /**
+     * The last {@link IStorageService#getCachedInventoryVersion() version} of the grid's cached inventory that was sent
+     * to the client, or {@link IStorageService#UNVERSIONED} if a full update is required.
+     */
+    private long lastChangeFeedVersion = IStorageService.UNVERSIONED;
 
     public MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHost host) {
         this(menuType, id, ip, host, true);
@@ -208,6 +263,8 @@ protected MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHos
         if (bindInventory) {
             this.createPlayerInventorySlots(ip);
         }
+
+        registerClientAction(ACTION_REQUEST_FULL_UPDATE, this::requestFullUpdate);
     }
 
     protected boolean hideViewCells() {
@@ -251,39 +308,86 @@ public void broadcastChanges() {
                 }
             }
 
-            var craftables = getCraftablesFromGrid();
-            var availableStacks = storage == null ? new KeyCounter() : storage.getAvailableStacks();
+            var craftingService = getCraftingServiceFromGrid();
+            var gridStorage = getGridStorageService();
+            KeyCounter availableStacks;
+            if (gridStorage != null) {
+                // All terminals of a grid share the cached inventory and the changes published for it
+                availableStacks = gridStorage.getCachedInventory();
+            } else {
+                availableStacks = storage == null ? new KeyCounter() : storage.getAvailableStacks();
+            }
 
             // This is currently not supported/backed by any network service
             var requestables = new KeyCounter();
 
             try {
+                if (gridStorage != null && !updateHelper.isFullUpdate()
+                        && !gridStorage.getCachedInventoryChangesSince(lastChangeFeedVersion,
+                                updateHelper::addChange)) {
+                    // We can't catch up with the grid's changes anymore, resend everything
+                    updateHelper.clear();
+                    previousCraftables.clear();
+                    previousCraftingService = null;
+                }
+
                 // Craftables
-                // Newly craftable
-                Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
-                // No longer craftable
-                Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+                updateCraftables(craftingService);
 
                 // Available changes
-                previousAvailableStacks.removeAll(availableStacks);
-                previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                if (gridStorage != null) {
+                    if (updateHelper.isFullUpdate()) {
+                        for (var entry : availableStacks) {
+                            updateHelper.addChange(entry.getKey());
+                        }
+                    }
+                } else {
+                    previousAvailableStacks.removeAll(availableStacks);
+                    previousAvailableStacks.removeZeros();
+                    previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                }
 
-                if (updateHelper.hasChanges()) {
-                    var builder = MEInventoryUpdatePacket
-                            .builder(containerId, updateHelper.isFullUpdate());
+                ticksSinceUpdate++;
+                if (updateHelper.hasChanges() && (updateHelper.isFullUpdate() || sendingFullUpdate || forceUpdate
+                        || ticksSinceUpdate >= updateInterval)) {
+                    var fullUpdate = updateHelper.isFullUpdate() || sendingFullUpdate;
+                    MEInventoryUpdatePacket.Builder builder;
+                    if (getPlayer() instanceof ServerPlayer serverPlayer && serverPlayer.connection != null) {
+                        builder = MEInventoryUpdatePacket.builder(containerId, updateHelper.isFullUpdate(),
+                                serverPlayer);
+                    } else {
+                        builder = MEInventoryUpdatePacket.builder(containerId, updateHelper.isFullUpdate());
+                    }
                     builder.setFilter(this::isKeyVisible);
-                    builder.addChanges(updateHelper, availableStacks, craftables, requestables);
+                    // Large inventories are sent across several ticks, anything left over stays queued
+                    builder.addChanges(updateHelper, availableStacks, previousCraftables, requestables,
+                            MAX_ENTRIES_PER_UPDATE);
                     builder.buildAndSend(this::sendPacketToClient);
-                    updateHelper.commitChanges();
+
+                    updateBytesSent += builder.getBytesWritten();
+                    // Chunks of a full update don't say anything about the rate of changes
+                    if (!fullUpdate) {
+                        updateInterval = computeUpdateInterval(builder.getBytesWritten() / ticksSinceUpdate);
+                    }
+                    ticksSinceUpdate = 0;
+                    forceUpdate = false;
+                    sendingFullUpdate = fullUpdate && updateHelper.hasChanges();
                 }
 
             } catch (Exception e) {
                 AELog.warn(e, "Failed to send incremental inventory update to client");
+                // Compare the full set of craftables next time
+                previousCraftingService = null;
             }
 
-            previousCraftables = ImmutableSet.copyOf(craftables);
-            previousAvailableStacks = availableStacks;
+            if (gridStorage != null) {
+                // Never compare against the shared cache, it'll be modified in-place
+                previousAvailableStacks.clear();
+                lastChangeFeedVersion = gridStorage.getCachedInventoryVersion();
+            } else {
+                previousAvailableStacks = availableStacks;
+                lastChangeFeedVersion = IStorageService.UNVERSIONED;
+            }
 
             this.updatePowerStatus();
 
@@ -294,24 +398,135 @@ public void broadcastChanges() {
 
     }
 
+    /**
+     * Picks the number of ticks until the next inventory update. Players can't follow amounts changing every tick
+     * anyway, so updates are sent less often when the server is lagging or they're large.
+     */
+    private int computeUpdateInterval(long bytesPerTick) {
+        int maxInterval = AEConfig.instance().getTerminalUpdateMaxInterval();
+        int interval = 1;
+
+        var server = getPlayer().getServer();
+        if (server != null) {
+            var tickTime = server.getAverageTickTime();
+            if (tickTime > OVERLOADED_TICK_TIME) {
+                interval = 20;
+            } else if (tickTime > SLOW_TICK_TIME) {
+                interval = 5;
+            }
+        }
+        if (bytesPerTick > LARGE_UPDATE_BYTES_PER_TICK) {
+            interval = Math.max(interval, 5);
+        }
+
+        return Math.min(interval, maxInterval);
+    }
+
+    /**
+     * @return The number of inventory updates per second currently sent to the client.
+     */
+    public float getUpdateRate() {
+        return 20f / updateInterval;
+    }
+
+    /**
+     * @return The total size of the inventory updates sent to the client since the menu was opened, in bytes.
+     */
+    public long getUpdateBytesSent() {
+        return updateBytesSent;
+    }
+
     protected boolean showsCraftables() {
         return true;
     }
 
-    private Set<AEKey> getCraftablesFromGrid() {
+    /**
+     * Queues the keys whose craftable state changed since the last update and updates {@link #previousCraftables}. Uses
+     * the craftables changes published by the crafting service if possible, and only compares the full set of
+     * craftables when those are not available.
+     */
+    private void updateCraftables(@Nullable ICraftingService craftingService) {
+        if (craftingService != null && craftingService == previousCraftingService) {
+            var version = craftingService.getCraftablesVersion();
+            if (version != ICraftingService.UNVERSIONED && version == previousCraftablesVersion) {
+                return;
+            }
+
+            if (craftingService.getCraftablesChangesSince(previousCraftablesVersion, key -> {
+                if (isKeyVisible(key)) {
+                    updateHelper.addChange(key);
+                    if (craftingService.isCraftable(key) || craftingService.canEmitFor(key)) {
+                        previousCraftables.add(key);
+                    } else {
+                        previousCraftables.remove(key);
+                    }
+                }
+            })) {
+                previousCraftablesVersion = version;
+                return;
+            }
+        }
+
+        Set<AEKey> craftables;
+        if (craftingService != null) {
+            previousCraftablesVersion = craftingService.getCraftablesVersion();
+            craftables = craftingService.getCraftables(this::isKeyVisible);
+        } else {
+            previousCraftablesVersion = ICraftingService.UNVERSIONED;
+            craftables = Collections.emptySet();
+        }
+        previousCraftingService = craftingService;
+
+        // Newly craftable
+        Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+        // No longer craftable
+        Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+
+        previousCraftables = new HashSet<>(craftables);
+    }
+
+    @Nullable
+    private ICraftingService getCraftingServiceFromGrid() {
         IGridNode hostNode = networkNode;
         // Wireless terminals do not directly expose the target grid (even though they have one)
         if (hostNode == null && host instanceof IActionHost actionHost) {
             hostNode = actionHost.getActionableNode();
         }
         if (!showsCraftables()) {
-            return Collections.emptySet();
+            return null;
         }
 
         if (hostNode != null && hostNode.isActive()) {
-            return hostNode.getGrid().getCraftingService().getCraftables(this::isKeyVisible);
+            return hostNode.getGrid().getCraftingService();
         }
-        return Collections.emptySet();
+        return null;
+    }
+
+    /**
+     * If this menu shows the inventory of a grid, returns that grid's storage service, so that the menu can use the
+     * changes {@link IStorageService#getCachedInventoryChangesSince published} by it instead of comparing full
+     * snapshots of the inventory. Returns null if the storage service doesn't track these changes.
+     */
+    @Nullable
+    private IStorageService getGridStorageService() {
+        IGridNode hostNode = networkNode;
+        // Wireless terminals do not directly expose the target grid (even though they have one)
+        if (hostNode == null && host instanceof IActionHost actionHost) {
+            hostNode = actionHost.getActionableNode();
+        }
+        if (hostNode == null || storage == null) {
+            return null;
+        }
+
+        var grid = hostNode.getGrid();
+        if (grid != null) {
+            var storageService = grid.getStorageService();
+            if (storageService.getInventory() == storage
+                    && storageService.getCachedInventoryVersion() != IStorageService.UNVERSIONED) {
+                return storageService;
+            }
+        }
+        return null;
     }
 
     /**
@@ -407,6 +622,27 @@ protected final boolean canInteractWithGrid() {
         return this.storage != null && this.powerSource != null && this.isPowered();
     }
 
+    /**
+     * Called on the client if it received inventory updates it couldn't make sense of, i.e. after a desync. Resends
+     * the entire inventory, including the keys that were already sent over the player's connection.
+     */
+    public void requestFullUpdate() {
+        if (isClient()) {
+            sendClientAction(ACTION_REQUEST_FULL_UPDATE);
+            return;
+        }
+
+        if (getPlayer() instanceof ServerPlayer serverPlayer && serverPlayer.connection != null) {
+            MEInventoryUpdatePacket.resetSentKeys(serverPlayer);
+        }
+        updateHelper.clear();
+        previousCraftables.clear();
+        previousCraftingService = null;
+        // Menus that compare the inventory with the previous tick would otherwise only resend the changed stacks
+        previousAvailableStacks = new KeyCounter();
+        sendingFullUpdate = false;
+    }
+
     @Override
     public final void handleInteraction(long serial, InventoryAction action) {
         if (isClient()) {
@@ -419,6 +655,9 @@ public final void handleInteraction(long serial, InventoryAction action) {
             return;
         }
 
+        // Show the result of the interaction right away
+        forceUpdate = true;
+
         ServerPlayer player = (ServerPlayer) this.getPlayerInventory().player;
 
         // Serial -1 is used to target empty virtual slots, which only allows the player to put
@@ -718,6 +957,11 @@ public boolean hasItemType(ItemStack itemStack, int amount) {
      */
     protected final KeyCounter getPreviousAvailableStacks() {
         Preconditions.checkState(isServer());
+        // Menus showing a grid's inventory don't keep a copy of it, so use the grid's cache. Do not modify it!
+        var gridStorage = getGridStorageService();
+        if (gridStorage != null) {
+            return gridStorage.getCachedInventory();
+        }
         return previousAvailableStacks;
     }
 }
@@ -43,6 +43,7 @@
 import appeng.api.networking.storage.IStorageWatcherNode;
 import appeng.api.parts.IPartModel;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyTypes;
 import appeng.api.stacks.KeyCounter;
 import appeng.core.AppEng;
 import appeng.helpers.IConfigInvHost;
@@ -93,10 +94,14 @@ public void updateWatcher(IStackWatcher newWatcher) {
 
         @Override
         public void onStackChange(AEKey what, long amount) {
-            if (what.equals(getConfiguredKey()) && getInstalledUpgrades(Upgrades.FUZZY) == 0) {
+            var myStack = getConfiguredKey();
+            if (what.equals(myStack) && getInstalledUpgrades(Upgrades.FUZZY) == 0) {
                 lastReportedValue = amount;
                 updateState();
-            } else { // either fuzzy upgrade or null filter
+            } else if (myStack == null) {
+                updateReportingValue(getGridNode().getGrid());
+            } else if (what.getPrimaryKey().equals(myStack.getPrimaryKey())) {
+                // fuzzy upgrade: only variants of the configured key can change the reported value
                 updateReportingValue(getGridNode().getGrid());
             }
         }
@@ -223,13 +228,15 @@ protected void configureWatchers() {
     }
 
     private void updateReportingValue(IGrid grid) {
-        var stacks = grid.getStorageService().getCachedInventory();
+        var storageService = grid.getStorageService();
+        var stacks = storageService.getCachedInventory();
         var myStack = getConfiguredKey();
 
         if (myStack == null) {
+            // The grid keeps a running total per type, no need to sum up the entire network
             this.lastReportedValue = 0;
-            for (var st : stacks) {
-                this.lastReportedValue += st.getLongValue();
+            for (var keyType : AEKeyTypes.getAll()) {
+                this.lastReportedValue += storageService.getCachedAmount(keyType);
             }
         } else if (this.getInstalledUpgrades(Upgrades.FUZZY) > 0) {
             this.lastReportedValue = 0;
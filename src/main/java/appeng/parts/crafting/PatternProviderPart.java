@@ -21,12 +21,14 @@
 import java.util.EnumSet;
 import java.util.List;
 
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.phys.Vec3;
 
 import appeng.api.parts.IPartCollisionHelper;
@@ -96,6 +98,17 @@ public void addToWorld() {
         this.duality.updatePatterns();
     }
 
+    @Override
+    public void removeFromWorld() {
+        super.removeFromWorld();
+        this.duality.onRemoved();
+    }
+
+    @Override
+    public void onNeighborChanged(BlockGetter level, BlockPos pos, BlockPos neighbor) {
+        this.duality.updateTermName();
+    }
+
     @Override
     public void getDrops(final List<ItemStack> drops, final boolean wrenched) {
         this.duality.addDrops(drops);
@@ -41,6 +41,7 @@
 import appeng.api.util.AECableType;
 import appeng.api.util.AEColor;
 import appeng.core.definitions.AEParts;
+import appeng.core.sync.packets.CableStatePacket;
 import appeng.items.parts.ColoredPartItem;
 import appeng.parts.AEBasePart;
 
@@ -54,7 +55,13 @@ public void onInWorldConnectionChanged(CablePart nodeOwner, IGridNode node) {
         }
     };
 
+    // Layout of the packed client state, see getClientState
+    private static final long STATE_SIDE_PRESENT = 1L << 48;
+    private static final long STATE_POWERED = 1L << 54;
+
     private final int[] channelsOnSide = { 0, 0, 0, 0, 0, 0 };
+    // The client state that was last sent, only used on the server
+    private long sentState = -1;
 
     private Set<Direction> connections = Collections.emptySet();
     private boolean powered = false;
@@ -235,45 +242,137 @@ protected void updateConnections() {
 
     @Override
     public void writeToStream(final FriendlyByteBuf data) {
+        var state = this.getClientState();
+        this.sentState = state;
+
         int flags = 0;
-        boolean[] writeSide = new boolean[Direction.values().length];
-        int[] channelsPerSide = new int[Direction.values().length];
+        var n = getGridNode();
+        if (n != null) {
+            for (var side : n.getInWorldConnections().keySet()) {
+                flags |= 1 << side.ordinal();
+            }
+        }
+        if ((state & STATE_POWERED) != 0) {
+            flags |= 1 << Direction.values().length;
+        }
+
+        data.writeByte((byte) flags);
+        // Only write the used channels for sides where we have a part or another cable
+        for (int i = 0; i < Direction.values().length; i++) {
+            if ((state & STATE_SIDE_PRESENT << i) != 0) {
+                data.writeByte(getStateChannels(state, i));
+            }
+        }
+    }
+
+    /**
+     * Packs what clients are shown of this cable into one value: whether it's powered, and the channels used on each
+     * side that has a part or a connection to another cable. Connections themselves are not included.
+     */
+    private long getClientState() {
+        long state = 0;
 
         for (Direction thisSide : Direction.values()) {
             final IPart part = this.getHost().getPart(thisSide);
             if (part != null) {
-                writeSide[thisSide.ordinal()] = true;
                 int channels = 0;
                 if (part.getGridNode() != null) {
                     for (var gc : part.getGridNode().getConnections()) {
                         channels = Math.max(channels, gc.getUsedChannels());
                     }
                 }
-                channelsPerSide[thisSide.ordinal()] = channels;
+                state = withStateChannels(state, thisSide.ordinal(), channels);
             }
         }
 
         var n = getGridNode();
         if (n != null) {
             for (var entry : n.getInWorldConnections().entrySet()) {
-                var side = entry.getKey().ordinal();
-                writeSide[side] = true;
-                channelsPerSide[side] = entry.getValue().getUsedChannels();
-                flags |= 1 << side;
+                state = withStateChannels(state, entry.getKey().ordinal(), entry.getValue().getUsedChannels());
             }
 
             if (n.isPowered()) {
-                flags |= 1 << Direction.values().length;
+                state |= STATE_POWERED;
             }
         }
 
-        data.writeByte((byte) flags);
-        // Only write the used channels for sides where we have a part or another cable
-        for (int i = 0; i < writeSide.length; i++) {
-            if (writeSide[i]) {
-                data.writeByte(channelsPerSide[i]);
+        return state;
+    }
+
+    private static long withStateChannels(long state, int side, int channels) {
+        state &= ~(0xFFL << side * 8);
+        return state | STATE_SIDE_PRESENT << side | (channels & 0xFFL) << side * 8;
+    }
+
+    private static int getStateChannels(long state, int side) {
+        return (int) (state >>> side * 8 & 0xFF);
+    }
+
+    /**
+     * Queues a {@link CableStatePacket} for this cable if its powered state or channels changed since they were last
+     * sent, rather than resending the entire cable bus.
+     */
+    protected void sendStateIfChanged() {
+        if (!isClientSide()) {
+            CableStateBatcher.queue(this);
+        }
+    }
+
+    /**
+     * @return The state to send to clients, or -1 if they are already up-to-date.
+     */
+    long takeChangedState() {
+        var state = this.getClientState();
+        if (state == this.sentState) {
+            return -1;
+        }
+        this.sentState = state;
+        return state;
+    }
+
+    public static void writeState(FriendlyByteBuf data, long state) {
+        int flags = (int) (state >>> 48);
+        data.writeByte(flags);
+        for (int i = 0; i < Direction.values().length; i++) {
+            if ((state & STATE_SIDE_PRESENT << i) != 0) {
+                data.writeByte(getStateChannels(state, i));
+            }
+        }
+    }
+
+    public static long readState(FriendlyByteBuf data) {
+        long state = (data.readByte() & 0xFFL) << 48;
+        for (int i = 0; i < Direction.values().length; i++) {
+            if ((state & STATE_SIDE_PRESENT << i) != 0) {
+                state = withStateChannels(state, i, data.readByte() & 0xFF);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Applies a state received via {@link CableStatePacket} on the client.
+     *
+     * @return True if the cable needs to be rendered again.
+     */
+    public boolean applyState(long state) {
+        boolean changed = false;
+
+        var powered = (state & STATE_POWERED) != 0;
+        if (powered != this.powered) {
+            this.powered = powered;
+            changed = true;
+        }
+
+        for (int i = 0; i < Direction.values().length; i++) {
+            var ch = getStateChannels(state, i);
+            if (ch != this.getChannelsOnSide(i)) {
+                this.setChannelsOnSide(i, ch);
+                changed = true;
             }
         }
+
+        return changed;
     }
 
     @Override
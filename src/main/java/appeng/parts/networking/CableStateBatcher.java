@@ -0,0 +1,96 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.parts.networking;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import appeng.core.sync.network.NetworkHandler;
+import appeng.core.sync.packets.CableStatePacket;
+import appeng.hooks.ticking.TickHandler;
+
+/**
+ * Collects the cables whose power or channel display may have changed, and sends the changes as one packet per chunk
+ * on the next tick of the level. Booting or powering a large network would otherwise resend every cable bus in full.
+ */
+final class CableStateBatcher {
+    // Mapping is level -> encoded chunk pos -> cables queued in that chunk
+    private static final Map<Level, Long2ObjectMap<Set<CablePart>>> PENDING = new WeakHashMap<>();
+
+    private CableStateBatcher() {
+    }
+
+    static void queue(CablePart cable) {
+        var level = cable.getLevel();
+        if (level == null) {
+            return;
+        }
+
+        var levelQueue = PENDING.get(level);
+        if (levelQueue == null) {
+            levelQueue = new Long2ObjectOpenHashMap<>();
+            PENDING.put(level, levelQueue);
+            TickHandler.instance().addCallable(level, () -> send(level));
+        }
+
+        levelQueue.computeIfAbsent(ChunkPos.asLong(cable.getBlockEntity().getBlockPos()), key -> new LinkedHashSet<>())
+                .add(cable);
+    }
+
+    private static void send(Level level) {
+        var levelQueue = PENDING.remove(level);
+        if (levelQueue == null) {
+            return;
+        }
+
+        for (var entry : levelQueue.long2ObjectEntrySet()) {
+            var chunkPos = new ChunkPos(entry.getLongKey());
+            var packet = new CableStatePacket.Builder(chunkPos);
+
+            for (var cable : entry.getValue()) {
+                var be = cable.getBlockEntity();
+                // Skip cables that were removed in the meantime
+                if (be == null || be.isRemoved() || cable.getHost().getPart(null) != cable) {
+                    continue;
+                }
+
+                var state = cable.takeChangedState();
+                if (state != -1) {
+                    packet.add(be.getBlockPos(), state);
+                    if (packet.isFull()) {
+                        NetworkHandler.instance().sendToTrackingChunk(packet.build(), level, chunkPos);
+                        packet = new CableStatePacket.Builder(chunkPos);
+                    }
+                }
+            }
+
+            if (!packet.isEmpty()) {
+                NetworkHandler.instance().sendToTrackingChunk(packet.build(), level, chunkPos);
+            }
+        }
+    }
+}
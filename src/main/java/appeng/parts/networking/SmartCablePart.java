@@ -36,7 +36,7 @@ public SmartCablePart(final ItemStack is) {
      */
     @Override
     protected void onMainNodeStateChanged(IGridNodeListener.State reason) {
-        this.getHost().markForUpdate();
+        this.sendStateIfChanged();
     }
 
     @Override
@@ -41,7 +41,7 @@ public AECableType getCableConnectionType() {
      */
     @Override
     protected void onMainNodeStateChanged(IGridNodeListener.State reason) {
-        this.getHost().markForUpdate();
+        this.sendStateIfChanged();
     }
 
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.recipes;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+
+/**
+ * Maps items to the recipes with an ingredient that can accept them. Since ingredients only test the item of a stack,
+ * the recipes returned by {@link #get} are a superset of the recipes whose ingredient accepts the stack, but callers
+ * still need to test the ingredient itself.
+ * <p>
+ * Empty ingredients only accept empty stacks, and are indexed under {@link Items#AIR}.
+ */
+public final class IngredientIndex<T> {
+    private final Map<Item, List<T>> recipesByItem = new IdentityHashMap<>();
+
+    /**
+     * Adds a recipe for all items accepted by the ingredient. All ingredients of a recipe have to be added before
+     * adding the next recipe, which keeps the recipes for every item in the order they were added.
+     */
+    public void add(Ingredient ingredient, T recipe) {
+        if (ingredient.isEmpty()) {
+            add(Items.AIR, recipe);
+        } else {
+            for (var stack : ingredient.getItems()) {
+                add(stack.getItem(), recipe);
+            }
+        }
+    }
+
+    private void add(Item item, T recipe) {
+        var recipes = recipesByItem.computeIfAbsent(item, i -> new ArrayList<>());
+        // Skip duplicates from recipes that accept the item in several ingredients
+        if (recipes.isEmpty() || recipes.get(recipes.size() - 1) != recipe) {
+            recipes.add(recipe);
+        }
+    }
+
+    /**
+     * @return The recipes that were added with an ingredient that may accept the given stack.
+     */
+    public List<T> get(ItemStack stack) {
+        return recipesByItem.getOrDefault(stack.getItem(), List.of());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.recipes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+import net.minecraft.world.Container;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+
+/**
+ * Caches a lookup structure that is built from all recipes of one type, so that lookups don't have to scan every
+ * recipe. The structure is kept per recipe manager (client and server have their own), and rebuilt once the recipes
+ * have been reloaded, which replaces the map of recipes the manager holds for the type.
+ *
+ * @param <T> The recipe class.
+ * @param <I> The type of the lookup structure.
+ */
+public final class RecipeTypeCache<T extends Recipe<Container>, I> {
+    private final RecipeType<T> type;
+    private final Class<T> recipeClass;
+    private final Function<List<T>, I> indexFactory;
+    private final Map<RecipeManager, Entry<I>> cache = new WeakHashMap<>();
+
+    /**
+     * @param indexFactory Builds the lookup structure from all recipes of the type, in the order the recipe manager
+     *                     returns them.
+     */
+    public RecipeTypeCache(RecipeType<T> type, Class<T> recipeClass, Function<List<T>, I> indexFactory) {
+        this.type = type;
+        this.recipeClass = recipeClass;
+        this.indexFactory = indexFactory;
+    }
+
+    public synchronized I get(RecipeManager recipeManager) {
+        var recipes = recipeManager.byType(type);
+
+        var entry = cache.get(recipeManager);
+        if (entry == null || entry.recipes() != recipes) {
+            var typedRecipes = new ArrayList<T>(recipes.size());
+            for (var recipe : recipes.values()) {
+                if (recipeClass.isInstance(recipe)) {
+                    typedRecipes.add(recipeClass.cast(recipe));
+                }
+            }
+
+            entry = new Entry<>(recipes, indexFactory.apply(Collections.unmodifiableList(typedRecipes)));
+            cache.put(recipeManager, entry);
+        }
+
+        return entry.index();
+    }
+
+    private record Entry<I>(Map<?, ?> recipes, I index) {
+    }
+}
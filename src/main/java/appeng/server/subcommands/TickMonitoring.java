@@ -24,9 +24,12 @@
 
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.server.MinecraftServer;
 
+import appeng.hooks.ticking.TickHandler;
 import appeng.me.service.TickManagerService;
+import appeng.menu.me.common.MEStorageMenu;
 import appeng.server.ISubCommand;
 
 public class TickMonitoring implements ISubCommand {
@@ -40,8 +43,35 @@ public void addArguments(LiteralArgumentBuilder<CommandSourceStack> builder) {
         }));
     }
 
+    /**
+     * Reports how many nodes are waiting in the tick wheels of all grids, and how often open terminals are updated.
+     */
     @Override
     public void call(final MinecraftServer srv, final CommandContext<CommandSourceStack> data,
             final CommandSourceStack sender) {
+        int grids = 0;
+        int queued = 0;
+        int maxQueued = 0;
+        int overdue = 0;
+
+        for (var grid : TickHandler.instance().getGridList()) {
+            if (grid.getTickManager() instanceof TickManagerService tickManager) {
+                grids++;
+                queued += tickManager.getQueuedCount();
+                maxQueued = Math.max(maxQueued, tickManager.getQueuedCount());
+                overdue += tickManager.getOverdueCount();
+            }
+        }
+
+        sender.sendSuccess(new TranslatableComponent("commands.ae2.TickMonitorGrids", grids, queued, maxQueued,
+                overdue), false);
+
+        for (var player : srv.getPlayerList().getPlayers()) {
+            if (player.containerMenu instanceof MEStorageMenu menu) {
+                sender.sendSuccess(new TranslatableComponent("commands.ae2.TickMonitorTerminal",
+                        player.getDisplayName(), String.format("%.1f", menu.getUpdateRate()),
+                        menu.getUpdateBytesSent()), false);
+            }
+        }
     }
 }
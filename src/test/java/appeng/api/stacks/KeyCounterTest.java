@@ -87,6 +87,18 @@ public void testRemoveZeros() {
         assertThat(itemList.keySet()).containsOnly();
     }
 
+    @Test
+    public void testRemoveKey() {
+        itemList.add(diamondSword(100), 1);
+        itemList.add(diamondSword(50), 1);
+        itemList.removeKey(diamondSword(100));
+        assertThat(itemList.keySet()).containsOnly(diamondSword(50));
+
+        itemList.removeKey(diamondSword(50));
+        assertTrue(itemList.isEmpty());
+        assertEquals(0, itemList.size());
+    }
+
     @Test
     public void testResetStatus() {
         itemList.add(diamondSword(100), 1);
@@ -174,6 +186,35 @@ public void testGetFirstItem() {
         assertEquals(1, itemList.getFirstEntry().getLongValue());
     }
 
+    /**
+     * Snapshots must not see later changes, and only copy the variants of changed primary keys.
+     */
+    @Test
+    void testSnapshot() {
+        var sword = diamondSword(100);
+        var nameTag = nameTag();
+        itemList.add(sword, 1);
+        itemList.add(nameTag, 1);
+
+        var first = itemList.snapshot(null, List.of());
+        assertThat(first.keySet()).containsOnly(sword, nameTag);
+
+        var damagedSword = diamondSword(50);
+        itemList.add(damagedSword, 2);
+        itemList.removeKey(nameTag);
+        var second = itemList.snapshot(first, List.of(damagedSword, nameTag));
+
+        assertThat(first.keySet()).containsOnly(sword, nameTag);
+        assertThat(second.keySet()).containsOnly(sword, damagedSword);
+        assertEquals(2, second.get(damagedSword));
+        assertThat(second.findFuzzy(sword, FuzzyMode.IGNORE_ALL)).hasSize(2);
+
+        // Unchanged keys are not picked up
+        itemList.add(sword, 5);
+        var third = itemList.snapshot(second, List.of());
+        assertEquals(1, third.get(sword));
+    }
+
     @Nested
     class FindFuzzyDamageableItems {
 
@@ -1,7 +1,9 @@
 package appeng.api.storage.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,37 @@ void testFuzzySearchValues() {
         assertEquals(undamaged.getFuzzySearchValue(), 0);
     }
 
+    @Nested
+    class Interning {
+        @Test
+        void keysWithoutTagAreCanonical() {
+            assertSame(AEItemKey.of(Items.DIAMOND), AEItemKey.of(Items.DIAMOND));
+            assertSame(AEItemKey.of(Items.DIAMOND), AEItemKey.of(Items.DIAMOND.getDefaultInstance()));
+        }
+
+        @Test
+        void keysWithEqualTagsAreCanonical() {
+            var tag = new CompoundTag();
+            tag.putString("name", "bob");
+            var key = AEItemKey.of(Items.NAME_TAG, tag);
+
+            assertSame(key, AEItemKey.of(Items.NAME_TAG, tag.copy()));
+            assertNotSame(key, AEItemKey.of(Items.NAME_TAG));
+        }
+
+        @Test
+        void canonicalKeyOwnsItsTag() {
+            var tag = new CompoundTag();
+            tag.putString("name", "bob");
+            var key = AEItemKey.of(Items.NAME_TAG, tag);
+
+            // Modifying the tag that was passed in must not affect the canonical key
+            tag.putString("name", "alice");
+            assertEquals("bob", key.getTag().getString("name"));
+            assertNotSame(key, AEItemKey.of(Items.NAME_TAG, tag));
+        }
+    }
+
     @Nested
     class GenericTagSerialization {
         @Test
@@ -67,6 +67,28 @@ public void testLazyPatternExploration() {
                 .bytesMatch(2, 2, 0);
     }
 
+    /**
+     * The async calculation completes on its own, without the server thread granting it time slices.
+     */
+    @Test
+    public void testAsyncCalculation() {
+        var env = new SimulationEnv();
+
+        var a = item(Items.COBBLESTONE);
+        var b = item(Items.STONE);
+
+        var aToB = env.addPattern(new ProcessingPatternBuilder(b).addPreciseInput(1, a).build());
+        env.addStoredItem(a);
+
+        var plan = env.runAsyncSimulation(b);
+        assertThatPlan(plan)
+                .succeeded()
+                .patternsMatch(aToB, 1)
+                .emittedMatch()
+                .usedMatch(a)
+                .bytesMatch(2, 2, 0);
+    }
+
     @Test
     public void testWaterSubstitution() {
         var env = new SimulationEnv();
@@ -145,6 +167,66 @@ public void testMultiplePlanks() {
                 .usedMatch(mult(acaciaPlanks, 2), birchPlanks, mult(oakPlanks, 2));
     }
 
+    /**
+     * With multiple patterns, each pattern should be used as much as possible before moving to the next one. The
+     * patterns are requested in batches, make sure this gives the same plan as crafting one by one.
+     */
+    @Test
+    public void testMultiplePatternsPartialBranch() {
+        var env = new SimulationEnv();
+
+        var a = item(Items.COBBLESTONE);
+        var b = item(Items.STONE);
+        var c = item(Items.IRON_INGOT);
+
+        var aToC = env.addPattern(new ProcessingPatternBuilder(c).addPreciseInput(1, a).build());
+        var bToC = env.addPattern(new ProcessingPatternBuilder(c).addPreciseInput(1, b).build());
+
+        env.addStoredItem(mult(a, 6));
+        env.addStoredItem(mult(b, 10));
+
+        var plan = env.runSimulation(mult(c, 10));
+        assertThatPlan(plan)
+                .succeeded()
+                .patternsMatch(aToC, 6, bToC, 4)
+                .emittedMatch()
+                .usedMatch(mult(a, 6), mult(b, 4))
+                .bytesMatch(3, 20, 0);
+
+        // Not enough inputs: the missing items are reported against the first branch, like when crafting one by one.
+        var failurePlan = env.runSimulation(mult(c, 20));
+        assertThatPlan(failurePlan)
+                .failed()
+                .patternsMatch(aToC, 20)
+                .emittedMatch()
+                .missingMatch(mult(a, 14))
+                .usedMatch(mult(a, 6));
+    }
+
+    /**
+     * Large requests against multiple patterns must not be simulated one craft at a time.
+     */
+    @Test
+    public void testMultiplePatternsLargeRequest() {
+        var env = new SimulationEnv();
+
+        var a = item(Items.COBBLESTONE);
+        var b = item(Items.STONE);
+        var c = item(Items.IRON_INGOT);
+
+        var aToC = env.addPattern(new ProcessingPatternBuilder(c).addPreciseInput(1, a).build());
+        var bToC = env.addPattern(new ProcessingPatternBuilder(c).addPreciseInput(1, b).build());
+
+        env.addStoredItem(mult(a, 1_000_000));
+        env.addStoredItem(mult(b, 1_000_000));
+
+        var plan = env.runSimulation(mult(c, 1_500_000));
+        assertThatPlan(plan)
+                .succeeded()
+                .patternsMatch(aToC, 1_000_000, bToC, 500_000)
+                .usedMatch(mult(a, 1_000_000), mult(b, 500_000));
+    }
+
     @Test
     public void testReusedBuckets() {
         var env = new SimulationEnv();
@@ -12,7 +12,9 @@
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -85,12 +87,30 @@ public SimulationEnv copy() {
 
     public CraftingPlan runSimulation(GenericStack what) {
         var calculation = new CraftingCalculation(mock(Level.class), gridMock, simulationRequester, what);
+        var executor = Executors.newSingleThreadExecutor();
         try {
-            var calculationFuture = Executors.newSingleThreadExecutor().submit(calculation::run);
+            var calculationFuture = executor.submit(calculation::run);
             calculation.simulateFor(1000000000);
             return calculationFuture.get(1000, TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the calculation without lock-stepping with a simulated server thread.
+     */
+    public CraftingPlan runAsyncSimulation(GenericStack what) {
+        var calculation = new CraftingCalculation(mock(Level.class), gridMock, simulationRequester, what, true);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(calculation::run).get(1000, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -158,7 +178,8 @@ public ImmutableSet<ICraftingCPU> getCpus() {
 
             @Override
             public Set<AEKey> getCraftables(AEKeyFilter filter) {
-                return craftableItemsList.keySet().stream().filter(filter::matches).collect(Collectors.toSet());
+                return Stream.concat(craftableItemsList.keySet().stream(), emitableItems.stream())
+                        .filter(filter::matches).collect(Collectors.toSet());
             }
 
             @Override
@@ -166,6 +187,16 @@ public boolean canEmitFor(AEKey what) {
                 return emitableItems.contains(what);
             }
 
+            @Override
+            public long getCraftablesVersion() {
+                return UNVERSIONED;
+            }
+
+            @Override
+            public boolean getCraftablesChangesSince(long version, Consumer<AEKey> consumer) {
+                return false;
+            }
+
             @Override
             public boolean isRequesting(AEKey what) {
                 throw new UnsupportedOperationException();
@@ -211,6 +242,11 @@ public KeyCounter getCachedInventory() {
                 return getInventory().getAvailableStacks();
             }
 
+            @Override
+            public KeyCounter getCachedInventorySnapshot() {
+                return getInventory().getAvailableStacks();
+            }
+
             @Override
             public void refreshNodeStorageProvider(IGridNode node) {
                 throw new UnsupportedOperationException();
@@ -3,17 +3,23 @@
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import appeng.api.exceptions.ExistingConnectionException;
 import appeng.api.exceptions.SecurityConnectionException;
+import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.util.Platform;
 
@@ -194,6 +200,84 @@ void testMergeGridsUsesSizeAsTieBreaker() throws Exception {
             assertSame(largerGrid, c.getGrid());
         }
 
+        /**
+         * Breaking a connection in a line of nodes should split off the shorter end into its own grid, while the longer
+         * end keeps the original grid.
+         */
+        @Test
+        void testSplitMovesSmallerPartToNewGrid() throws Exception {
+            var nodes = new ArrayList<GridNode>();
+            for (var i = 0; i < 10; i++) {
+                nodes.add(makeReadyNode());
+            }
+            var connections = new ArrayList<GridConnection>();
+            for (var i = 1; i < nodes.size(); i++) {
+                connections.add(GridConnection.create(nodes.get(i - 1), nodes.get(i), null));
+            }
+            var originalGrid = nodes.get(0).getGrid();
+            assertEquals(10, originalGrid.size());
+
+            // Split off the last two nodes
+            connections.get(7).destroy();
+
+            for (var i = 0; i < 8; i++) {
+                assertSame(originalGrid, nodes.get(i).getGrid());
+            }
+            var splitGrid = nodes.get(8).getGrid();
+            assertNotSame(originalGrid, splitGrid);
+            assertSame(splitGrid, nodes.get(9).getGrid());
+            assertEquals(8, originalGrid.size());
+            assertEquals(2, splitGrid.size());
+        }
+
+        /**
+         * Breaking a connection in a ring of nodes must not split the grid.
+         */
+        @Test
+        void testBreakingRingDoesNotSplit() throws Exception {
+            var nodes = new ArrayList<GridNode>();
+            for (var i = 0; i < 6; i++) {
+                nodes.add(makeReadyNode());
+            }
+            var connections = new ArrayList<GridConnection>();
+            for (var i = 0; i < nodes.size(); i++) {
+                connections.add(GridConnection.create(nodes.get(i), nodes.get((i + 1) % nodes.size()), null));
+            }
+            var grid = nodes.get(0).getGrid();
+
+            connections.get(2).destroy();
+
+            for (var node : nodes) {
+                assertSame(grid, node.getGrid());
+            }
+            assertEquals(6, grid.size());
+        }
+
+        /**
+         * Destroying a node in the center of a star should split every arm into its own grid, except one.
+         */
+        @Test
+        void testDestroyingCenterNodeSplitsAllArms() throws Exception {
+            var center = makeReadyNode();
+            var arms = new ArrayList<GridNode>();
+            for (var i = 0; i < 4; i++) {
+                var arm = makeReadyNode();
+                GridConnection.create(center, arm, null);
+                arms.add(arm);
+            }
+            var grid = center.getGrid();
+
+            center.destroy();
+
+            var grids = new HashSet<IGrid>();
+            for (var arm : arms) {
+                assertEquals(1, arm.getGrid().size());
+                grids.add(arm.getGrid());
+            }
+            assertEquals(4, grids.size());
+            assertTrue(grids.contains(grid));
+        }
+
         private void assertOnlyConnection(GridNode a, GridNode b) {
             assertSameGrid(a, b);
             assertThat(a.getConnections()).hasSize(1);
@@ -1,15 +1,30 @@
 package appeng.me;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import net.minecraft.core.BlockPos;
+
+import appeng.api.networking.GridFlags;
 import appeng.api.networking.IGridNodeListener;
+import appeng.api.networking.energy.IAEPowerStorage;
+import appeng.api.networking.pathing.ControllerState;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.service.EnergyService;
 import appeng.me.service.PathingService;
 
 class GridNodeTest extends AbstractGridNodeTest {
@@ -33,4 +48,148 @@ public void rebootNotificationIsPostedAfterGridBeginsBooting() {
         assertThat(calls).containsOnly(false);
     }
 
+    /**
+     * Once channels have been assigned, reassigning them must not take the devices of the grid offline.
+     */
+    @Test
+    public void repathAfterBootKeepsDevicesOnline() {
+        var node = makePoweredNode(GridFlags.REQUIRE_CHANNEL);
+        var pathingService = (PathingService) node.getGrid().getPathingService();
+        for (int i = 0; i < 100 && (pathingService.isNetworkBooting() || !node.meetsChannelRequirements()); i++) {
+            runTick(node.getGrid());
+        }
+        assertTrue(node.hasGridBooted());
+        assertTrue(node.meetsChannelRequirements());
+
+        reset(listener);
+        pathingService.repath();
+        runTick(node.getGrid());
+
+        assertTrue(node.hasGridBooted());
+        assertTrue(node.meetsChannelRequirements());
+        verify(listener, never()).onStateChanged(owner, node, IGridNodeListener.State.GRID_BOOT);
+        verify(listener, never()).onStateChanged(owner, node, IGridNodeListener.State.CHANNEL);
+    }
+
+    /**
+     * A device connected to a node with a route to the controller is attached without recalculating the channels of the
+     * grid, so it gets its channel in the same tick.
+     */
+    @Test
+    public void deviceIsAttachedIncrementally() {
+        var controller = makeController();
+        var cable = makeReadyNode();
+        GridConnection.create(controller, cable, null);
+        bootGrid(controller);
+
+        var device = makeReadyNode(GridFlags.REQUIRE_CHANNEL);
+        GridConnection.create(cable, device, null);
+        runTick(controller.getGrid());
+
+        assertTrue(device.meetsChannelRequirements());
+        assertThat(((PathingService) controller.getGrid().getPathingService()).getChannelsInUse()).isEqualTo(1);
+    }
+
+    /**
+     * Cables are preferred over controllers when the connections of a node are sorted. Connecting a cable to a cable
+     * next to the controller changes the route of the existing cable, so it must not be attached incrementally, since
+     * the routes of the two cables would lead to each other.
+     */
+    @Test
+    public void attachToControllerAdjacentCableRecalculatesRoutes() {
+        var controller = makeController();
+        var cable = makeReadyNode(GridFlags.PREFERRED);
+        GridConnection.create(controller, cable, null);
+        bootGrid(controller);
+
+        var newCable = makeReadyNode(GridFlags.PREFERRED);
+        GridConnection.create(cable, newCable, null);
+        runTick(controller.getGrid());
+        var device = makeReadyNode(GridFlags.REQUIRE_CHANNEL);
+        GridConnection.create(newCable, device, null);
+        for (int i = 0; i < 100 && !device.meetsChannelRequirements(); i++) {
+            runTick(controller.getGrid());
+        }
+
+        assertTrue(device.meetsChannelRequirements());
+        assertThat(((GridConnection) cable.getControllerRoute()).getOtherSide(cable)).isSameAs(controller);
+    }
+
+    /**
+     * Quartz fibers can't carry channels, so a device attached to one must not get a channel.
+     */
+    @Test
+    public void deviceAttachedToQuartzFiberGetsNoChannel() {
+        var controller = makeController();
+        var cable = makeReadyNode(GridFlags.PREFERRED);
+        var fiber = makeReadyNode(GridFlags.CANNOT_CARRY);
+        GridConnection.create(controller, cable, null);
+        GridConnection.create(cable, fiber, null);
+        bootGrid(controller);
+
+        var device = makeReadyNode(GridFlags.REQUIRE_CHANNEL);
+        GridConnection.create(fiber, device, null);
+        for (int i = 0; i < 100; i++) {
+            runTick(controller.getGrid());
+        }
+
+        assertFalse(device.meetsChannelRequirements());
+        assertThat(((PathingService) controller.getGrid().getPathingService()).getChannelsInUse()).isZero();
+    }
+
+    private GridNode makeController() {
+        var controller = mock(ControllerBlockEntity.class);
+        var node = new GridNode(level, controller, listener, Set.of(GridFlags.CANNOT_CARRY, GridFlags.DENSE_CAPACITY));
+        when(controller.getGridNode()).thenReturn(node);
+        when(controller.getBlockPos()).thenReturn(BlockPos.ZERO);
+        node.addService(IAEPowerStorage.class, new InfinitePowerStorage());
+        var grid = node.getInternalGrid();
+        ((EnergyService) grid.getEnergyService()).onServerEndTick();
+        node.markReady();
+        return node;
+    }
+
+    private void bootGrid(GridNode node) {
+        var pathingService = (PathingService) node.getGrid().getPathingService();
+        runTick(node.getGrid());
+        for (int i = 0; i < 100 && pathingService.isNetworkBooting(); i++) {
+            runTick(node.getGrid());
+        }
+        assertTrue(node.hasGridBooted());
+        assertThat(pathingService.getControllerState()).isEqualTo(ControllerState.CONTROLLER_ONLINE);
+    }
+
+    @Test
+    public void machineViewsFollowNodesAndTheirState() {
+        var storage = makePoweredNode();
+        var arrayList = new ArrayList<>();
+        var linkedList = new LinkedList<>();
+        var a = new GridNode(level, arrayList, listener, Set.of(GridFlags.REQUIRE_CHANNEL));
+        a.markReady();
+        var b = new GridNode(level, linkedList, listener, Set.of());
+        b.markReady();
+        GridConnection.create(storage, a, null);
+        GridConnection.create(storage, b, null);
+
+        var grid = storage.getGrid();
+        var arrayLists = grid.getMachines(ArrayList.class);
+        var activeArrayLists = grid.getActiveMachines(ArrayList.class);
+        var lists = grid.getMachinesAssignableTo(List.class);
+        var activeLists = grid.getActiveMachinesAssignableTo(List.class);
+        assertThat(arrayLists).containsExactly(arrayList);
+        assertThat(lists).containsExactlyInAnyOrder(arrayList, linkedList);
+
+        var pathingService = (PathingService) grid.getPathingService();
+        for (int i = 0; i < 100 && (pathingService.isNetworkBooting() || !a.meetsChannelRequirements()); i++) {
+            runTick(grid);
+        }
+        assertTrue(a.isActive());
+        assertTrue(b.isActive());
+        assertThat(activeArrayLists).containsExactly(arrayList);
+        assertThat(activeLists).containsExactlyInAnyOrder(arrayList, linkedList);
+
+        b.destroy();
+        assertThat(lists).containsExactly(arrayList);
+        assertThat(activeLists).containsExactly(arrayList);
+    }
 }
@@ -0,0 +1,52 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.energy.IEnergyGridProvider;
+import appeng.me.service.EnergyService;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class EnergyProviderGraphTest {
+    private final EnergyService gridA = mock(EnergyService.class);
+    private final EnergyService gridB = mock(EnergyService.class);
+    private final IEnergyGridProvider fiber = mock(IEnergyGridProvider.class);
+
+    EnergyProviderGraphTest() {
+        // A quartz fiber is a provider in both grids, and leads to both of them
+        when(gridA.providers()).thenReturn(List.of(fiber, fiber));
+        when(gridB.providers()).thenReturn(List.of(fiber));
+        when(fiber.providers()).thenReturn(List.of(gridA, gridB));
+    }
+
+    @Test
+    void testProvidersAreDiscoveredOnce() {
+        var graph = EnergyProviderGraph.build(gridA);
+
+        var root = graph.getRoot();
+        assertThat(root.getProvider()).isSameAs(gridA);
+        assertThat(root.getNeighbours()).hasSize(1);
+        var fiberNode = root.getNeighbours()[0];
+        assertThat(fiberNode.getProvider()).isSameAs(fiber);
+        assertThat(fiberNode.getNeighbours()).extracting(EnergyProviderGraph.Node::getProvider)
+                .containsExactly(gridA, gridB);
+        var gridBNode = fiberNode.getNeighbours()[1];
+        assertThat(gridBNode.getNeighbours()).containsExactly(fiberNode);
+        assertThat(List.of(root.getIndex(), fiberNode.getIndex(), gridBNode.getIndex())).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testGraphIsOutdatedWhenProvidersOfAnyGridChange() {
+        var graph = EnergyProviderGraph.build(gridA);
+        assertThat(graph.isCurrent()).isTrue();
+
+        when(gridB.getEnergyGridProvidersVersion()).thenReturn(1L);
+        assertThat(graph.isCurrent()).isFalse();
+    }
+}
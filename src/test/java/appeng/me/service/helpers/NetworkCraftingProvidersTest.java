@@ -3,6 +3,7 @@
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -18,6 +19,7 @@
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
 import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
 import appeng.util.BootstrapMinecraft;
 
@@ -79,4 +81,50 @@ public Set<AEKey> getEmitableItems() {
         assertThat(craftingProviders.canEmitFor(diamond)).isFalse();
         assertThat(craftingProviders.getMediums(pattern)).isEmpty();
     }
+
+    @Test
+    void testRefreshOnlyRemountsChangedPatterns() {
+        var craftingProviders = new NetworkCraftingProviders();
+        var a = GenericStack.fromItemStack(new ItemStack(Items.STONE));
+        var b = GenericStack.fromItemStack(new ItemStack(Items.DIRT));
+        var c = GenericStack.fromItemStack(new ItemStack(Items.GRAVEL));
+        var toA = new ProcessingPatternBuilder(a).build();
+        var toB = new ProcessingPatternBuilder(b).build();
+        var toC = new ProcessingPatternBuilder(c).build();
+
+        var testProvider = mock(ICraftingProvider.class);
+        var testNode = mock(IGridNode.class);
+        when(testNode.getService(ICraftingProvider.class)).thenReturn(testProvider);
+
+        when(testProvider.getAvailablePatterns()).thenReturn(List.of(toA, toB));
+        craftingProviders.addProvider(testNode);
+        assertThat(craftingProviders.getCraftables(AEKeyFilter.none())).containsOnly(a.what(), b.what());
+        var version = craftingProviders.getCraftablesVersion();
+
+        when(testProvider.getAvailablePatterns()).thenReturn(List.of(toA, toC));
+        craftingProviders.refreshProvider(testNode);
+
+        // Queries don't apply the queued refresh, the tick boundary does
+        assertThat(craftingProviders.getCraftingFor(b.what())).containsExactly(toB);
+        craftingProviders.applyPendingRefreshes();
+        assertThat(craftingProviders.getCraftingFor(b.what())).isEmpty();
+        assertThat(craftingProviders.getCraftingFor(c.what())).containsExactly(toC);
+        assertThat(craftingProviders.getCraftables(AEKeyFilter.none())).containsOnly(a.what(), c.what());
+        assertThat(craftingProviders.getMediums(toA)).containsExactly(testProvider);
+        assertThat(craftingProviders.getMediums(toB)).isEmpty();
+
+        var changes = new ArrayList<AEKey>();
+        assertThat(craftingProviders.getCraftablesChangesSince(version, changes::add)).isTrue();
+        assertThat(changes).containsOnly(b.what(), c.what());
+
+        // Refreshing without changes doesn't publish anything
+        craftingProviders.refreshProvider(testNode);
+        craftingProviders.applyPendingRefreshes();
+        assertThat(craftingProviders.getCraftablesVersion()).isEqualTo(version + 1);
+
+        // A queued refresh is dropped when the provider leaves
+        craftingProviders.refreshProvider(testNode);
+        craftingProviders.removeProvider(testNode);
+        assertThat(craftingProviders.getCraftables(AEKeyFilter.none())).isEmpty();
+    }
 }
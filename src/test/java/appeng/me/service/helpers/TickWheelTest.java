@@ -0,0 +1,98 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+
+class TickWheelTest {
+    private final TickWheel wheel = new TickWheel(0);
+
+    private static TickTracker tracker(int rate, long lastTick) {
+        return new TickTracker(new TickingRequest(rate, rate, false, true), mock(IGridNode.class),
+                mock(IGridTickable.class), lastTick);
+    }
+
+    private List<TickTracker> pollAll(long tick) {
+        var result = new ArrayList<TickTracker>();
+        TickTracker tt;
+        while ((tt = wheel.pollDue(tick)) != null) {
+            result.add(tt);
+        }
+        return result;
+    }
+
+    @Test
+    void testTrackersAreReturnedWhenDue() {
+        var fast = tracker(1, 0);
+        var slow = tracker(5, 0);
+        wheel.add(fast);
+        wheel.add(slow);
+
+        assertThat(pollAll(0)).isEmpty();
+        assertThat(pollAll(1)).containsExactly(fast);
+        assertThat(pollAll(4)).isEmpty();
+        assertThat(pollAll(5)).containsExactly(slow);
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testRemove() {
+        var a = tracker(3, 0);
+        var b = tracker(3, 0);
+        var c = tracker(3, 0);
+        wheel.add(a);
+        wheel.add(b);
+        wheel.add(c);
+
+        wheel.remove(b);
+        assertThat(wheel.contains(b)).isFalse();
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(pollAll(3)).containsExactly(a, c);
+    }
+
+    /**
+     * Ticks that were skipped, e.g. because the level wasn't ticked, must not lose trackers.
+     */
+    @Test
+    void testSkippedTicksAreCaughtUp() {
+        var a = tracker(2, 0);
+        var b = tracker(7, 0);
+        wheel.add(a);
+        wheel.add(b);
+
+        assertThat(pollAll(10)).containsExactly(a, b);
+    }
+
+    @Test
+    void testTrackersBeyondOneRotation() {
+        var far = tracker(1000, 0);
+        wheel.add(far);
+
+        // Shares its slot with tick 1000 % 256, but must not be returned before tick 1000
+        assertThat(pollAll(999)).isEmpty();
+        assertThat(pollAll(1000)).containsExactly(far);
+    }
+
+    /**
+     * Overdue trackers added while a tick is being processed are still returned for that tick.
+     */
+    @Test
+    void testOverdueTrackerIsTickedImmediately() {
+        var a = tracker(1, 0);
+        wheel.add(a);
+        assertThat(pollAll(5)).containsExactly(a);
+
+        var overdue = tracker(1, 0);
+        wheel.add(overdue);
+        assertThat(wheel.countDue(5)).isEqualTo(1);
+        assertThat(pollAll(5)).containsExactly(overdue);
+    }
+}
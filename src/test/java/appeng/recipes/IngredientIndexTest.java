@@ -0,0 +1,42 @@
+package appeng.recipes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class IngredientIndexTest {
+    private final IngredientIndex<String> index = new IngredientIndex<>();
+
+    @Test
+    void testRecipesAreReturnedInOrder() {
+        index.add(Ingredient.of(Items.IRON_INGOT, Items.GOLD_INGOT), "first");
+        index.add(Ingredient.of(Items.IRON_INGOT), "second");
+
+        assertThat(index.get(new ItemStack(Items.IRON_INGOT))).containsExactly("first", "second");
+        assertThat(index.get(new ItemStack(Items.GOLD_INGOT))).containsExactly("first");
+        assertThat(index.get(new ItemStack(Items.DIAMOND))).isEmpty();
+    }
+
+    @Test
+    void testRecipeIsOnlyReturnedOnce() {
+        index.add(Ingredient.of(Items.IRON_INGOT), "recipe");
+        index.add(Ingredient.of(Items.IRON_INGOT), "recipe");
+
+        assertThat(index.get(new ItemStack(Items.IRON_INGOT))).containsExactly("recipe");
+    }
+
+    @Test
+    void testEmptyIngredientMatchesEmptyStack() {
+        index.add(Ingredient.EMPTY, "recipe");
+
+        assertThat(index.get(ItemStack.EMPTY)).containsExactly("recipe");
+        assertThat(index.get(new ItemStack(Items.IRON_INGOT))).isEmpty();
+    }
+}